@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+
+/**
+ * A concurrency limit for {@linkplain Flow#parallel(FlowContext, List) parallel} flows which adapts to the current load of the server.
+ * <p>
+ * The limit follows the AIMD (additive increase, multiplicative decrease) approach: As long as the execution times of the tasks stay close to the baseline, the limit is raised by one every time a full window of tasks has succeeded. If the execution time exceeds the baseline by the tolerance, or a task fails, the limit is cut by the backoff ratio. The limit is cut at most once per window, so that many slow tasks in flight count as one overload.
+ * <p>
+ * A window holds as many samples as the current limit, but at least ten. Execution times are measured from the moment a task actually starts, so time spent waiting in the {@linkplain Scheduler scheduler}, the queue of a {@linkplain Bulkhead bulkhead} or for a {@linkplain RateLimiter rate limiter} doesn't count. The baseline is the smallest execution time of recent windows: If a window has a smaller execution time, the baseline follows immediately, otherwise it moves halfway towards the smallest execution time of the window. This way a single unusually fast task, e.g. a cached response, doesn't pin the baseline.
+ * <p>
+ * Use the same instance in different flows accessing the same server, so that the limit learned by one flow is used by the next one.
+ */
+public class AdaptiveLimit {
+
+    /**
+     * By default, the limit starts with four tasks.
+     */
+    public static final int DEFAULT_INITIAL_LIMIT = 4;
+
+    /**
+     * By default, the limit is at least one task.
+     */
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    /**
+     * By default, the limit is at most 64 tasks.
+     */
+    public static final int DEFAULT_MAX_LIMIT = 64;
+
+    /**
+     * By default, an execution time of more than twice the smallest execution time is considered as overload.
+     */
+    public static final double DEFAULT_TOLERANCE = 2.0;
+
+    /**
+     * By default, the limit is halved on overload.
+     */
+    public static final double DEFAULT_BACKOFF_RATIO = 0.5;
+
+    private static final int MIN_WINDOW = 10;
+    private static final double BASELINE_DECAY = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private double limit;
+    private long minLatency;
+    private long windowMinLatency;
+    private int windowSamples;
+    private boolean decreased;
+
+    /**
+     * Creates a new adaptive limit using the default values.
+     */
+    public AdaptiveLimit() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_TOLERANCE, DEFAULT_BACKOFF_RATIO);
+    }
+
+    /**
+     * Creates a new adaptive limit.
+     *
+     * @param initialLimit the initial number of tasks executed at the same time
+     * @param minLimit     the minimal number of tasks executed at the same time
+     * @param maxLimit     the maximal number of tasks executed at the same time
+     * @param tolerance    the factor by which the execution time may exceed the smallest execution time
+     * @param backoffRatio the factor by which the limit is cut on overload
+     */
+    public AdaptiveLimit(final int initialLimit, final int minLimit, final int maxLimit, final double tolerance,
+            final double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.minLatency = Long.MAX_VALUE;
+        this.windowMinLatency = Long.MAX_VALUE;
+        this.windowSamples = 0;
+        this.decreased = false;
+    }
+
+    // ------------------------------------------------------ samples
+
+    void success(final long latency) {
+        if (minLatency == Long.MAX_VALUE) {
+            minLatency = latency;
+        }
+        windowMinLatency = Math.min(windowMinLatency, latency);
+        if (latency > minLatency * tolerance) {
+            decrease();
+        }
+        sample();
+    }
+
+    void failure() {
+        decrease();
+        sample();
+    }
+
+    private void decrease() {
+        if (!decreased) {
+            decreased = true;
+            limit = Math.max(minLimit, limit * backoffRatio);
+        }
+    }
+
+    private void sample() {
+        windowSamples++;
+        if (windowSamples >= Math.max(MIN_WINDOW, (int) Math.ceil(limit))) {
+            if (windowMinLatency != Long.MAX_VALUE) {
+                if (windowMinLatency < minLatency) {
+                    minLatency = windowMinLatency;
+                } else {
+                    minLatency += Math.round((windowMinLatency - minLatency) * BASELINE_DECAY);
+                }
+            }
+            if (!decreased) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            windowMinLatency = Long.MAX_VALUE;
+            windowSamples = 0;
+            decreased = false;
+        }
+    }
+
+    // ------------------------------------------------------ info
+
+    /**
+     * @return the current number of tasks executed at the same time
+     */
+    public int limit() {
+        return (int) limit;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveLimit {limit: " + limit() + ", minLatency: " + minLatency + '}';
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+/**
+ * An exponential backoff policy used to calculate the delay between the iterations of a {@linkplain Flow#repeat(FlowContext, Task) repeated} execution.
+ * <p>
+ * The delay starts with the initial delay and is multiplied with the multiplier after each iteration, but never exceeds the maximal delay. A {@linkplain Jitter jitter} can be used to spread the delays of many clients polling the same server.
+ * <p>
+ * Instances are immutable and can be shared between flows.
+ */
+public final class Backoff {
+
+    /**
+     * Enum for the randomization applied to the calculated delay.
+     */
+    public enum Jitter {
+
+        /**
+         * The delay is not randomized.
+         */
+        NONE,
+
+        /**
+         * The delay is a random value between zero and the exponential delay.
+         */
+        FULL,
+
+        /**
+         * The delay is a random value between the initial delay and the previous delay times the multiplier.
+         */
+        DECORRELATED
+    }
+
+    /**
+     * Creates a backoff policy with a constant delay.
+     *
+     * @param delay the delay in milliseconds
+     */
+    public static Backoff constant(final long delay) {
+        return new Backoff(delay, 1.0, delay, Jitter.NONE, false);
+    }
+
+    /**
+     * Creates an exponential backoff policy without jitter.
+     *
+     * @param initialDelay the delay in milliseconds before the first iteration
+     * @param multiplier   the factor the delay is multiplied with after each iteration
+     * @param maxDelay     the maximal delay in milliseconds
+     */
+    public static Backoff exponential(final long initialDelay, final double multiplier, final long maxDelay) {
+        return new Backoff(initialDelay, multiplier, maxDelay, Jitter.NONE, false);
+    }
+
+    private final long initialDelay;
+    private final double multiplier;
+    private final long maxDelay;
+    private final Jitter jitter;
+    private final boolean resetOnSuccess;
+
+    private Backoff(final long initialDelay, final double multiplier, final long maxDelay, final Jitter jitter,
+            final boolean resetOnSuccess) {
+        if (initialDelay < 0) {
+            throw new IllegalArgumentException("Initial delay must not be negative: " + initialDelay);
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("Multiplier must be greater than or equal to 1: " + multiplier);
+        }
+        if (maxDelay < initialDelay) {
+            throw new IllegalArgumentException("Max delay must not be less than the initial delay: " + maxDelay);
+        }
+        this.initialDelay = initialDelay;
+        this.multiplier = multiplier;
+        this.maxDelay = maxDelay;
+        this.jitter = jitter;
+        this.resetOnSuccess = resetOnSuccess;
+    }
+
+    /**
+     * Returns a copy of this policy using the given jitter.
+     */
+    public Backoff jitter(final Jitter jitter) {
+        return new Backoff(initialDelay, multiplier, maxDelay, jitter, resetOnSuccess);
+    }
+
+    /**
+     * Returns a copy of this policy which resets the delay to the initial delay after a successful iteration. Otherwise, the delay only grows.
+     */
+    public Backoff resetOnSuccess(final boolean resetOnSuccess) {
+        return new Backoff(initialDelay, multiplier, maxDelay, jitter, resetOnSuccess);
+    }
+
+    boolean resetOnSuccess() {
+        return resetOnSuccess;
+    }
+
+    /**
+     * Calculates the delay for the given attempt.
+     *
+     * @param attempt  the number of iterations since the start or the last reset
+     * @param previous the previous delay or {@code 0} if there was no previous delay
+     */
+    long delay(final int attempt, final long previous) {
+        double exponential = Math.min(maxDelay, initialDelay * Math.pow(multiplier, attempt));
+        switch (jitter) {
+            case NONE:
+                return (long) exponential;
+            case FULL:
+                return (long) (Math.random() * exponential);
+            case DECORRELATED:
+                if (previous <= 0) {
+                    return initialDelay;
+                }
+                double upper = Math.min(maxDelay, previous * multiplier);
+                return (long) (initialDelay + Math.random() * Math.max(0, upper - initialDelay));
+            default:
+                throw new IllegalStateException("Unexpected jitter: " + jitter);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Backoff {initialDelay: " + initialDelay + ", multiplier: " + multiplier + ", maxDelay: " + maxDelay +
+                ", jitter: " + jitter + ", resetOnSuccess: " + resetOnSuccess + '}';
+    }
+}
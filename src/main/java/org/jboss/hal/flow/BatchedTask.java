@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+
+import elemental2.promise.Promise;
+
+/**
+ * A task implementation that submits an input to a {@linkplain Batcher batcher} and stores the output in the {@linkplain FlowContext context}.
+ * <p>
+ * This implementation makes it easy to turn a call to {@link Flow#parallel(FlowContext, List)} with many small reads into a few bulk operations: all tasks started in the same microtask (or within the window of the batcher) are executed as one batch.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ * @param <I> the type of the input
+ * @param <O> the type of the output
+ */
+public class BatchedTask<C extends FlowContext, I, O> implements Task<C> {
+
+    private final Batcher<I, O> batcher;
+    private final I input;
+    private final String contextKey;
+
+    /**
+     * Creates a new task that submits the given input to the batcher and pushes the output on top of the stack of the {@linkplain FlowContext context}.
+     *
+     * @param batcher the batcher used to execute the input
+     * @param input   the input of the task
+     */
+    public BatchedTask(final Batcher<I, O> batcher, final I input) {
+        this(batcher, input, null);
+    }
+
+    /**
+     * Creates a new task that submits the given input to the batcher and stores the output under the given key in the map of the {@linkplain FlowContext context}.
+     *
+     * @param batcher    the batcher used to execute the input
+     * @param input      the input of the task
+     * @param contextKey the key used to store the output in the context
+     */
+    public BatchedTask(final Batcher<I, O> batcher, final I input, final String contextKey) {
+        this.batcher = batcher;
+        this.input = input;
+        this.contextKey = contextKey;
+    }
+
+    @Override
+    public Promise<C> apply(final C context) {
+        return batcher.submit(input, context.cancellation())
+                .then(output -> contextKey != null ? context.resolve(contextKey, output) : context.resolve(output));
+    }
+}
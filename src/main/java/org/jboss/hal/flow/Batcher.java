@@ -0,0 +1,200 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+import static org.jboss.hal.flow.Timers.setTimeout;
+
+/**
+ * Collects the inputs of {@linkplain BatchedTask batched tasks} and hands them over to a bulk executor, e.g. to send many small reads as one composite operation.
+ * <p>
+ * By default, all inputs submitted in the same microtask form a batch, so that the tasks of a {@linkplain Flow#parallel(FlowContext, List) parallel flow} end up in the same batch. Alternatively, inputs are collected within a small window. A batch is executed as soon as it reaches the max size. The bulk executor must resolve with one output for each input in the same order. The outputs are then passed to the waiting tasks. Inputs of tasks which have been cancelled before the batch is executed are left out.
+ *
+ * @param <I> the type of the inputs
+ * @param <O> the type of the outputs
+ */
+public class Batcher<I, O> {
+
+    /**
+     * By default, all inputs submitted in the same microtask form a batch.
+     */
+    public static final long DEFAULT_WINDOW = 0;
+
+    /**
+     * By default, a batch holds up to 50 inputs.
+     */
+    public static final int DEFAULT_MAX_SIZE = 50;
+
+    private final Function<List<I>, Promise<List<O>>> executor;
+    private final long window;
+    private final int maxSize;
+    private List<Pending<I, O>> batch;
+    private int batches;
+    private int inputs;
+
+    /**
+     * Creates a new batcher which collects the inputs submitted in the same microtask, up to {@value #DEFAULT_MAX_SIZE} inputs per batch.
+     *
+     * @param executor the bulk executor which resolves with one output for each input
+     */
+    public Batcher(final Function<List<I>, Promise<List<O>>> executor) {
+        this(executor, DEFAULT_WINDOW, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new batcher.
+     *
+     * @param executor the bulk executor which resolves with one output for each input
+     * @param window   the time in milliseconds to collect inputs or {@code 0} to collect the inputs submitted in the same microtask
+     * @param maxSize  the maximal number of inputs per batch
+     * @throws IllegalArgumentException if the window is negative or the max size is not positive
+     */
+    public Batcher(final Function<List<I>, Promise<List<O>>> executor, final long window, final int maxSize) {
+        if (window < 0) {
+            throw new IllegalArgumentException("Window must not be negative: " + window);
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+        this.executor = executor;
+        this.window = window;
+        this.maxSize = maxSize;
+        this.batch = null;
+        this.batches = 0;
+        this.inputs = 0;
+    }
+
+    // ------------------------------------------------------ batcher API
+
+    /**
+     * Adds the input to the current batch.
+     *
+     * @return a promise which resolves with the output for the input once the batch has been executed
+     */
+    public Promise<O> submit(final I input) {
+        return submit(input, null);
+    }
+
+    /**
+     * Adds the input of a task to the current batch. If the cancellation of the task is cancelled before the batch is executed, the input is left out and the promise is rejected with the cancel reason.
+     */
+    Promise<O> submit(final I input, final Cancellation cancellation) {
+        if (cancellation != null && cancellation.cancelled()) {
+            return Promise.reject(cancellation.reason());
+        }
+        return new Promise<O>((resolve, reject) -> {
+            if (batch == null) {
+                List<Pending<I, O>> current = new ArrayList<>();
+                batch = current;
+                if (window > 0) {
+                    setTimeout(() -> flush(current), window);
+                } else {
+                    Promise.resolve((Object) null).then(__ -> {
+                        flush(current);
+                        return null;
+                    });
+                }
+            }
+            batch.add(new Pending<>(input, cancellation, resolve, reject));
+            inputs++;
+            if (batch.size() >= maxSize) {
+                flush(batch);
+            }
+        });
+    }
+
+    /**
+     * @return the number of executed batches
+     */
+    public int batches() {
+        return batches;
+    }
+
+    /**
+     * @return the number of submitted inputs
+     */
+    public int inputs() {
+        return inputs;
+    }
+
+    // ------------------------------------------------------ internal
+
+    private void flush(final List<Pending<I, O>> current) {
+        if (current == batch) {
+            batch = null;
+            List<Pending<I, O>> pending = new ArrayList<>(current.size());
+            for (Pending<I, O> p : current) {
+                if (p.cancellation != null && p.cancellation.cancelled()) {
+                    p.reject.onInvoke(p.cancellation.reason());
+                } else {
+                    pending.add(p);
+                }
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            batches++;
+            List<I> values = new ArrayList<>(pending.size());
+            for (Pending<I, O> p : pending) {
+                values.add(p.input);
+            }
+            executor.apply(values)
+                    .then(outputs -> {
+                        if (outputs == null || outputs.size() != pending.size()) {
+                            String error = "Bulk executor returned " + (outputs == null ? 0 : outputs.size()) +
+                                    " outputs for " + pending.size() + " inputs";
+                            for (Pending<I, O> p : pending) {
+                                p.reject.onInvoke(error);
+                            }
+                        } else {
+                            for (int i = 0; i < pending.size(); i++) {
+                                pending.get(i).resolve.onInvoke(outputs.get(i));
+                            }
+                        }
+                        return null;
+                    })
+                    .catch_(error -> {
+                        for (Pending<I, O> p : pending) {
+                            p.reject.onInvoke(error);
+                        }
+                        return null;
+                    });
+        }
+    }
+
+    private static class Pending<I, O> {
+
+        final I input;
+        final Cancellation cancellation;
+        final ResolveCallbackFn<O> resolve;
+        final RejectCallbackFn reject;
+
+        Pending(final I input, final Cancellation cancellation, final ResolveCallbackFn<O> resolve,
+                final RejectCallbackFn reject) {
+            this.input = input;
+            this.cancellation = cancellation;
+            this.resolve = resolve;
+            this.reject = reject;
+        }
+    }
+}
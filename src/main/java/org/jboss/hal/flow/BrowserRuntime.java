@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import elemental2.dom.DomGlobal;
+
+class BrowserRuntime implements FlowRuntime {
+
+    @Override
+    public long now() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public double setTimeout(final Runnable callback, final long delay) {
+        return DomGlobal.setTimeout(__ -> callback.run(), delay);
+    }
+
+    @Override
+    public void clearTimeout(final double handle) {
+        DomGlobal.clearTimeout(handle);
+    }
+
+    @Override
+    public double setInterval(final Runnable callback, final long interval) {
+        return DomGlobal.setInterval(__ -> callback.run(), interval);
+    }
+
+    @Override
+    public void clearInterval(final double handle) {
+        DomGlobal.clearInterval(handle);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+/**
+ * A named pool which limits the number of {@linkplain BulkheadTask tasks} running at the same time for a resource.
+ * <p>
+ * At most {@code maxConcurrency} tasks of a pool run at the same time. Further tasks wait in a queue of at most {@code maxQueue} tasks. If the queue is full, tasks fail immediately with an error which can be checked using {@link FlowContext#bulkheadFull(Object)}. Separate pools make sure that a burst of slow tasks for one resource doesn't use up the slots needed by fast tasks for another resource.
+ * <p>
+ * Bulkheads are registered by name, so that all flows using the same name share the same pool.
+ */
+public class Bulkhead {
+
+    /**
+     * By default, four tasks of a pool run at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    /**
+     * By default, up to 100 tasks wait in the queue of a pool.
+     */
+    public static final int DEFAULT_MAX_QUEUE = 100;
+
+    private static final Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    /**
+     * Returns the bulkhead with the given name. If there's no such bulkhead, a new one is created using {@value #DEFAULT_MAX_CONCURRENCY} as max concurrency and {@value #DEFAULT_MAX_QUEUE} as max queue size. An existing bulkhead is returned as is, regardless of its configuration.
+     */
+    public static Bulkhead bulkhead(final String name) {
+        return bulkheads.computeIfAbsent(name, n -> new Bulkhead(n, DEFAULT_MAX_CONCURRENCY, DEFAULT_MAX_QUEUE));
+    }
+
+    /**
+     * Returns the bulkhead with the given name. If there's no such bulkhead, a new one is created using the given max concurrency and max queue size.
+     *
+     * @param name           the name of the pool
+     * @param maxConcurrency the maximal number of tasks running at the same time
+     * @param maxQueue       the maximal number of waiting tasks
+     * @throws IllegalArgumentException if a bulkhead with the given name already exists, but uses a different max concurrency or max queue size
+     */
+    public static Bulkhead bulkhead(final String name, final int maxConcurrency, final int maxQueue) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(name, n -> new Bulkhead(n, maxConcurrency, maxQueue));
+        if (bulkhead.maxConcurrency != Math.max(1, maxConcurrency) || bulkhead.maxQueue != Math.max(0, maxQueue)) {
+            throw new IllegalArgumentException("Bulkhead " + name + " already registered with max concurrency " +
+                    bulkhead.maxConcurrency + " and max queue " + bulkhead.maxQueue);
+        }
+        return bulkhead;
+    }
+
+    private final String name;
+    private final int maxConcurrency;
+    private final int maxQueue;
+    private final Deque<Pending<?>> queue;
+    private int running;
+    private int completed;
+    private int rejected;
+
+    private Bulkhead(final String name, final int maxConcurrency, final int maxQueue) {
+        this.name = name;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.queue = new ArrayDeque<>();
+        this.running = 0;
+        this.completed = 0;
+        this.rejected = 0;
+    }
+
+    // ------------------------------------------------------ pool
+
+    /**
+     * Starts the task if the pool has a free slot, otherwise queues the task and calls {@code onQueue}.
+     */
+    <T> Promise<T> submit(final Supplier<Promise<T>> start, final Runnable onQueue) {
+        if (running < maxConcurrency) {
+            return run(start);
+        } else if (queue.size() < maxQueue) {
+            onQueue.run();
+            return new Promise<T>((resolve, reject) -> queue.add(new Pending<>(start, resolve)));
+        } else {
+            rejected++;
+            return Promise.reject(FlowRunner.BULKHEAD_FULL_ERROR);
+        }
+    }
+
+    private <T> Promise<T> run(final Supplier<Promise<T>> start) {
+        running++;
+        Promise<T> promise;
+        try {
+            promise = start.get();
+        } catch (Throwable t) {
+            release();
+            return Promise.reject(t);
+        }
+        promise.then(__ -> {
+            release();
+            return null;
+        }, __ -> {
+            release();
+            return null;
+        });
+        return promise;
+    }
+
+    private <T> void start(final Pending<T> pending) {
+        pending.resolve.onInvoke(run(pending.start));
+    }
+
+    private void release() {
+        running--;
+        completed++;
+        if (!queue.isEmpty() && running < maxConcurrency) {
+            start(queue.poll());
+        }
+    }
+
+    // ------------------------------------------------------ info
+
+    /**
+     * @return the name of this pool
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the number of running tasks
+     */
+    public int running() {
+        return running;
+    }
+
+    /**
+     * @return the number of waiting tasks
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    /**
+     * @return the ratio of running tasks to the max concurrency between {@code 0} and {@code 1}
+     */
+    public double utilization() {
+        return (double) running / maxConcurrency;
+    }
+
+    /**
+     * @return the number of finished tasks
+     */
+    public int completed() {
+        return completed;
+    }
+
+    /**
+     * @return the number of tasks which failed because the queue was full
+     */
+    public int rejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead {name: " + name + ", running: " + running + "/" + maxConcurrency + ", queued: " +
+                queue.size() + "/" + maxQueue + ", rejected: " + rejected + '}';
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Pending<T> {
+
+        final Supplier<Promise<T>> start;
+        final ResolveCallbackFn<T> resolve;
+
+        Pending(final Supplier<Promise<T>> start, final ResolveCallbackFn<T> resolve) {
+            this.start = start;
+            this.resolve = resolve;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+
+import elemental2.promise.Promise;
+
+/**
+ * A task implementation that executes a {@linkplain Task task} in a {@linkplain Bulkhead bulkhead}.
+ * <p>
+ * If the pool of the bulkhead is busy, the task waits in the queue of the pool. If the queue is full, the task fails immediately with an error which can be checked using {@link FlowContext#bulkheadFull(Object)}. This implementation makes it easy to isolate the tasks for different resources in calls to {@link Flow#parallel(FlowContext, List)}, {@link Flow#sequential(FlowContext, List)} or {@link Flow#repeat(FlowContext, Task)}.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ */
+public class BulkheadTask<C extends FlowContext> implements Task<C> {
+
+    private final Bulkhead bulkhead;
+    private final Task<C> task;
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task task} in the {@linkplain Bulkhead#bulkhead(String) bulkhead} with the given name.
+     *
+     * @param name the name of the bulkhead
+     * @param task the task to execute
+     */
+    public BulkheadTask(final String name, final Task<C> task) {
+        this(Bulkhead.bulkhead(name), task);
+    }
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task task} in the given bulkhead.
+     *
+     * @param bulkhead the bulkhead
+     * @param task     the task to execute
+     */
+    public BulkheadTask(final Bulkhead bulkhead, final Task<C> task) {
+        this.bulkhead = bulkhead;
+        this.task = task;
+    }
+
+    @Override
+    public Promise<C> apply(final C context) {
+        // the task might be started later, so capture the signal which is current now
+        Cancellation cancellation = context.cancellation();
+        return bulkhead.submit(() -> {
+            if (cancellation.cancelled()) {
+                return context.reject(cancellation.reason());
+            } else {
+                // the time spent in the queue is no execution time
+                cancellation.restartClock();
+                return context.scoped(cancellation, () -> task.apply(context));
+            }
+        }, cancellation::releaseSlot);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import elemental2.promise.Promise;
+
+/**
+ * A task implementation that serves the result of an asynchronous operation from a {@linkplain TaskCache cache}.
+ * <p>
+ * If the cache contains a value for the key, the operation is not executed. Otherwise, the operation is executed and the result is stored in the cache. Either way the result is stored in the {@linkplain FlowContext context}. This implementation makes it easy to avoid repeated requests in calls to {@link Flow#parallel(FlowContext, List)}, {@link Flow#sequential(FlowContext, List)} or {@link Flow#repeat(FlowContext, Task)}.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ * @param <T> the type of the result of the operation
+ */
+public class CachedTask<C extends FlowContext, T> implements Task<C> {
+
+    private final TaskCache<T> cache;
+    private final String key;
+    private final Supplier<Promise<T>> operation;
+    private final String contextKey;
+
+    /**
+     * Creates a new task that caches the result of the given operation and pushes the result on top of the stack of the {@linkplain FlowContext context}.
+     *
+     * @param cache     the cache used to store the result
+     * @param key       the key used to store the result in the cache
+     * @param operation the asynchronous operation
+     */
+    public CachedTask(final TaskCache<T> cache, final String key, final Supplier<Promise<T>> operation) {
+        this(cache, key, operation, null);
+    }
+
+    /**
+     * Creates a new task that caches the result of the given operation and stores the result under the given key in the map of the {@linkplain FlowContext context}.
+     *
+     * @param cache      the cache used to store the result
+     * @param key        the key used to store the result in the cache
+     * @param operation  the asynchronous operation
+     * @param contextKey the key used to store the result in the context
+     */
+    public CachedTask(final TaskCache<T> cache, final String key, final Supplier<Promise<T>> operation,
+            final String contextKey) {
+        this.cache = cache;
+        this.key = key;
+        this.operation = operation;
+        this.contextKey = contextKey;
+    }
+
+    @Override
+    public Promise<C> apply(final C context) {
+        T value = cache.get(key);
+        if (value != null) {
+            return store(context, value);
+        } else {
+            return operation.get().then(result -> {
+                cache.put(key, result);
+                return store(context, result);
+            });
+        }
+    }
+
+    private Promise<C> store(final C context, final T value) {
+        return contextKey != null ? context.resolve(contextKey, value) : context.resolve(value);
+    }
+}
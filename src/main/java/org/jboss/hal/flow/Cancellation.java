@@ -0,0 +1,174 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import elemental2.dom.AbortController;
+import elemental2.dom.AbortSignal;
+import elemental2.dom.EventListener;
+
+import static org.jboss.hal.flow.Timers.now;
+
+/**
+ * An abort controller together with the reason why it has been aborted and an optional deadline. Cancellations form a tree: each flow and each task which needs its own signal {@linkplain #fork() forks} a child, which is cancelled together with its parent, but cancelling the child leaves the parent untouched. A child inherits the deadline of its parent and can only tighten it.
+ * <p>
+ * A child registers a listener on the signal of its parent. Once the flow or task using the child has finished, it must be {@linkplain #detach() detached}, so that long-running parents don't collect listeners without bounds.
+ */
+class Cancellation {
+
+    private final AbortController controller;
+    private Object reason;
+    private long deadline;
+    private Scheduler.Slot slot;
+    private Clock clock;
+    private AbortSignal parentSignal;
+    private EventListener parentListener;
+
+    Cancellation() {
+        this.controller = new AbortController();
+        this.reason = null;
+        this.deadline = 0;
+        this.slot = null;
+        this.clock = null;
+        this.parentSignal = null;
+        this.parentListener = null;
+    }
+
+    AbortSignal signal() {
+        return controller.signal;
+    }
+
+    boolean cancelled() {
+        return controller.signal.aborted;
+    }
+
+    Object reason() {
+        return reason != null ? reason : FlowRunner.CANCELLED_ERROR;
+    }
+
+    void cancel(Object reason) {
+        if (!cancelled()) {
+            this.reason = reason;
+            controller.abort();
+        }
+    }
+
+    long deadline() {
+        return deadline > 0 ? deadline : -1;
+    }
+
+    long remaining() {
+        return deadline > 0 ? Math.max(0, deadline - now()) : -1;
+    }
+
+    /**
+     * Sets the deadline unless there's already an earlier one.
+     */
+    void limit(long deadline) {
+        if (this.deadline <= 0 || deadline < this.deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * Gives the {@linkplain Scheduler scheduler} slot of the task using this cancellation back, e.g. because the task waits for a nested flow.
+     */
+    void releaseSlot() {
+        if (slot != null) {
+            slot.release();
+        }
+    }
+
+    /**
+     * Starts measuring the execution time of the task using this cancellation. Forks of this cancellation share the clock.
+     */
+    void startClock() {
+        clock = new Clock(now());
+    }
+
+    /**
+     * Restarts the clock of the task using this cancellation, e.g. because the task has waited for a {@linkplain Bulkhead bulkhead} before it has actually been started.
+     */
+    void restartClock() {
+        if (clock != null) {
+            clock.started = now();
+        }
+    }
+
+    /**
+     * @return the time since the clock has been (re)started or {@code -1} if there's no clock
+     */
+    long elapsed() {
+        return clock != null ? now() - clock.started : -1;
+    }
+
+    /**
+     * Uses the {@linkplain Scheduler scheduler} slot of the given cancellation, if a task with its own cancellation has been started by the scheduler.
+     */
+    void useSlotOf(Cancellation other) {
+        if (other.slot != null) {
+            slot = other.slot;
+        }
+    }
+
+    /**
+     * Creates a new cancellation for a task which has been started by the {@linkplain Scheduler scheduler} using the given slot.
+     */
+    Cancellation fork(Scheduler.Slot slot) {
+        Cancellation child = fork();
+        child.slot = slot;
+        return child;
+    }
+
+    /**
+     * Creates a new cancellation which is cancelled together with this cancellation and inherits its deadline and scheduler slot.
+     */
+    Cancellation fork() {
+        Cancellation child = new Cancellation();
+        child.deadline = deadline;
+        child.slot = slot;
+        child.clock = clock;
+        if (cancelled()) {
+            child.cancel(reason());
+        } else {
+            child.parentSignal = signal();
+            child.parentListener = __ -> child.cancel(reason());
+            child.parentSignal.addEventListener("abort", child.parentListener);
+        }
+        return child;
+    }
+
+    /**
+     * Removes the listener from the signal of the parent. Afterwards, this cancellation is no longer cancelled together with its parent.
+     */
+    void detach() {
+        if (parentSignal != null) {
+            parentSignal.removeEventListener("abort", parentListener);
+            parentSignal = null;
+            parentListener = null;
+        }
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Clock {
+
+        long started;
+
+        Clock(final long started) {
+            this.started = started;
+        }
+    }
+}
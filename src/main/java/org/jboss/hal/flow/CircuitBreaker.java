@@ -0,0 +1,251 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.jboss.hal.flow.Timers.now;
+
+/**
+ * A circuit breaker which stops the execution of {@linkplain Task tasks} for a resource which failed repeatedly.
+ * <p>
+ * The circuit breaker starts {@linkplain State#CLOSED closed}. After a number of consecutive failures it {@linkplain State#OPEN opens} and {@linkplain CircuitBreakerTask tasks} fail immediately with an error which can be checked using {@link FlowContext#circuitOpen(Object)}. After the reset timeout, the circuit breaker is {@linkplain State#HALF_OPEN half-open} and lets one task probe the resource. If the probe succeeds, the circuit breaker closes. If the probe fails or is cancelled, it opens again. If the probe hasn't finished within the reset timeout, the next task probes the resource instead. Only the probe can close the circuit breaker: the outcome of tasks which were started before the circuit breaker opened is ignored.
+ * <p>
+ * Circuit breakers are registered per resource, so that all flows accessing the same resource share the same circuit breaker.
+ */
+public class CircuitBreaker {
+
+    /**
+     * Enum for the state of a circuit breaker.
+     */
+    public enum State {
+
+        /**
+         * Tasks are executed.
+         */
+        CLOSED,
+
+        /**
+         * Tasks fail immediately.
+         */
+        OPEN,
+
+        /**
+         * One task is executed to probe the resource, all other tasks fail immediately.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * By default, the circuit breaker opens after five consecutive failures.
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    /**
+     * By default, the circuit breaker probes the resource after 10 seconds.
+     */
+    public static final long DEFAULT_RESET_TIMEOUT = 10_000;
+
+    private static final Map<String, CircuitBreaker> circuitBreakers = new HashMap<>();
+
+    /**
+     * Returns the circuit breaker for the given resource. If there's no circuit breaker for the resource, a new one is created using {@value #DEFAULT_FAILURE_THRESHOLD} as failure threshold and {@value #DEFAULT_RESET_TIMEOUT} milliseconds as reset timeout. An existing circuit breaker is returned as is, regardless of its configuration.
+     */
+    public static CircuitBreaker circuitBreaker(final String resource) {
+        return circuitBreakers.computeIfAbsent(resource,
+                r -> new CircuitBreaker(r, DEFAULT_FAILURE_THRESHOLD, DEFAULT_RESET_TIMEOUT));
+    }
+
+    /**
+     * Returns the circuit breaker for the given resource. If there's no circuit breaker for the resource, a new one is created using the given failure threshold and reset timeout.
+     *
+     * @param resource         the resource protected by the circuit breaker
+     * @param failureThreshold the number of consecutive failures after which the circuit breaker opens
+     * @param resetTimeout     the time in milliseconds after which an open circuit breaker probes the resource
+     * @throws IllegalArgumentException if a circuit breaker for the given resource already exists, but uses a different failure threshold or reset timeout
+     */
+    public static CircuitBreaker circuitBreaker(final String resource, final int failureThreshold,
+            final long resetTimeout) {
+        CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(resource,
+                r -> new CircuitBreaker(r, failureThreshold, resetTimeout));
+        if (circuitBreaker.failureThreshold != failureThreshold || circuitBreaker.resetTimeout != resetTimeout) {
+            throw new IllegalArgumentException("Circuit breaker " + resource +
+                    " already registered with failure threshold " + circuitBreaker.failureThreshold +
+                    " and reset timeout " + circuitBreaker.resetTimeout);
+        }
+        return circuitBreaker;
+    }
+
+    private final String resource;
+    private final int failureThreshold;
+    private final long resetTimeout;
+    private State state;
+    private long openedAt;
+    private long probeStartedAt;
+    private int probe;
+    private int generation;
+    private int consecutiveFailures;
+    private int successes;
+    private int failures;
+    private int rejections;
+
+    private CircuitBreaker(final String resource, final int failureThreshold, final long resetTimeout) {
+        this.resource = resource;
+        this.failureThreshold = failureThreshold;
+        this.resetTimeout = resetTimeout;
+        this.state = State.CLOSED;
+        this.openedAt = 0;
+        this.probeStartedAt = 0;
+        this.probe = 0;
+        this.generation = 0;
+        this.consecutiveFailures = 0;
+        this.successes = 0;
+        this.failures = 0;
+        this.rejections = 0;
+    }
+
+    // ------------------------------------------------------ state transitions
+
+    /**
+     * Returns a permit if a task may be executed or {@code null} otherwise. Switches from {@link State#OPEN} to {@link State#HALF_OPEN} if the reset timeout has elapsed. The returned permit must be passed to {@link #success(Permit)}, {@link #failure(Permit)} or {@link #cancelled(Permit)} when the task has finished.
+     */
+    Permit acquire() {
+        long now = now();
+        if (state == State.CLOSED) {
+            return new Permit(generation, 0);
+        }
+        if ((state == State.OPEN && now - openedAt >= resetTimeout) ||
+                (state == State.HALF_OPEN && now - probeStartedAt >= resetTimeout)) {
+            // start a new probe, the result of a probe which didn't finish in time is ignored
+            state = State.HALF_OPEN;
+            probeStartedAt = now;
+            probe++;
+            return new Permit(generation, probe);
+        }
+        rejections++;
+        return null;
+    }
+
+    void success(Permit permit) {
+        successes++;
+        if (permit.probe != 0) {
+            if (state == State.HALF_OPEN && permit.probe == probe) {
+                close();
+            }
+        } else if (state == State.CLOSED && permit.generation == generation) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    void failure(Permit permit) {
+        failures++;
+        if (permit.probe != 0) {
+            if (state == State.HALF_OPEN && permit.probe == probe) {
+                open();
+            }
+        } else if (state == State.CLOSED && permit.generation == generation) {
+            consecutiveFailures++;
+            if (consecutiveFailures >= failureThreshold) {
+                open();
+            }
+        }
+    }
+
+    void cancelled(Permit permit) {
+        if (permit.probe != 0 && state == State.HALF_OPEN && permit.probe == probe) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = now();
+        generation++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        generation++;
+    }
+
+    /**
+     * Closes the circuit breaker and resets the consecutive failures.
+     */
+    public void reset() {
+        close();
+    }
+
+    // ------------------------------------------------------ info
+
+    /**
+     * @return the resource protected by this circuit breaker
+     */
+    public String resource() {
+        return resource;
+    }
+
+    /**
+     * @return the current state of this circuit breaker
+     */
+    public State state() {
+        return state;
+    }
+
+    /**
+     * @return the number of successful tasks
+     */
+    public int successes() {
+        return successes;
+    }
+
+    /**
+     * @return the number of failed tasks
+     */
+    public int failures() {
+        return failures;
+    }
+
+    /**
+     * @return the number of tasks which failed immediately because the circuit breaker was open
+     */
+    public int rejections() {
+        return rejections;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker {resource: " + resource + ", state: " + state + ", successes: " + successes +
+                ", failures: " + failures + ", rejections: " + rejections + '}';
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /**
+     * The permission to execute a task. Either a regular call while the circuit breaker is closed or a probe while the circuit breaker is half-open.
+     */
+    static class Permit {
+
+        private final int generation;
+        private final int probe;
+
+        private Permit(final int generation, final int probe) {
+            this.generation = generation;
+            this.probe = probe;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+
+import elemental2.promise.Promise;
+
+/**
+ * A task implementation that executes a {@linkplain Task task} only if the {@linkplain CircuitBreaker circuit breaker} of the accessed resource allows it.
+ * <p>
+ * If the circuit breaker is open, the task fails immediately with an error which can be checked using {@link FlowContext#circuitOpen(Object)}. Tasks which fail after their flow has been cancelled, e.g. a {@code fetch()} aborted through the {@linkplain FlowContext#signal() signal}, don't count as failures. This implementation makes it easy to stop calls to {@link Flow#parallel(FlowContext, List)}, {@link Flow#sequential(FlowContext, List)} or {@link Flow#repeat(FlowContext, Task)} from wasting connections and time on a resource which is down.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ */
+public class CircuitBreakerTask<C extends FlowContext> implements Task<C> {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Task<C> task;
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task task} using the {@linkplain CircuitBreaker#circuitBreaker(String) circuit breaker} of the given resource.
+     *
+     * @param resource the resource accessed by the task
+     * @param task     the task to execute
+     */
+    public CircuitBreakerTask(final String resource, final Task<C> task) {
+        this(CircuitBreaker.circuitBreaker(resource), task);
+    }
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task task} using the given circuit breaker.
+     *
+     * @param circuitBreaker the circuit breaker of the resource accessed by the task
+     * @param task           the task to execute
+     */
+    public CircuitBreakerTask(final CircuitBreaker circuitBreaker, final Task<C> task) {
+        this.circuitBreaker = circuitBreaker;
+        this.task = task;
+    }
+
+    @Override
+    public Promise<C> apply(final C context) {
+        CircuitBreaker.Permit permit = circuitBreaker.acquire();
+        if (permit == null) {
+            return context.reject(FlowRunner.CIRCUIT_OPEN_ERROR);
+        }
+        // a task aborted through the signal usually rejects with its own error, e.g. an 'AbortError' of fetch()
+        Cancellation cancellation = context.cancellation();
+        return task.apply(context)
+                .then(c -> {
+                    circuitBreaker.success(permit);
+                    return Promise.resolve(c);
+                })
+                .catch_(error -> {
+                    if (cancellation.cancelled() || FlowContext.cancelled(error)) {
+                        circuitBreaker.cancelled(permit);
+                    } else {
+                        circuitBreaker.failure(permit);
+                    }
+                    return Promise.reject(error);
+                });
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import elemental2.promise.Promise;
+
+/**
+ * A task implementation that shares the promise of an asynchronous operation between concurrent executions using the same key.
+ * <p>
+ * As long as the operation for a key is in flight, further executions don't start the operation again, but wait for the pending promise. Each execution stores the result in its own {@linkplain FlowContext context}. This implementation makes it easy to avoid duplicate requests in nested calls to {@link Flow#parallel(FlowContext, List)}, {@link Flow#sequential(FlowContext, List)} or {@link Flow#repeat(FlowContext, Task)}.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ * @param <T> the type of the result of the operation
+ */
+public class CoalescingTask<C extends FlowContext, T> implements Task<C> {
+
+    private static final Map<String, Promise<?>> inFlight = new HashMap<>();
+
+    private final String key;
+    private final Supplier<Promise<T>> operation;
+    private final String contextKey;
+
+    /**
+     * Creates a new task that shares the given operation with concurrent executions using the same key and pushes the result on top of the stack of the {@linkplain FlowContext context}.
+     *
+     * @param key       the key used to identify identical operations
+     * @param operation the asynchronous operation
+     */
+    public CoalescingTask(final String key, final Supplier<Promise<T>> operation) {
+        this(key, operation, null);
+    }
+
+    /**
+     * Creates a new task that shares the given operation with concurrent executions using the same key and stores the result under the given key in the map of the {@linkplain FlowContext context}.
+     *
+     * @param key        the key used to identify identical operations
+     * @param operation  the asynchronous operation
+     * @param contextKey the key used to store the result in the context
+     */
+    public CoalescingTask(final String key, final Supplier<Promise<T>> operation, final String contextKey) {
+        this.key = key;
+        this.operation = operation;
+        this.contextKey = contextKey;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Promise<C> apply(final C context) {
+        Promise<T> promise = (Promise<T>) inFlight.get(key);
+        if (promise == null) {
+            promise = operation.get().finally_(() -> inFlight.remove(key));
+            inFlight.put(key, promise);
+        }
+        return promise.then(value -> contextKey != null ? context.resolve(contextKey, value) : context.resolve(value));
+    }
+}
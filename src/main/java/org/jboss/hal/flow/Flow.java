@@ -15,13 +15,21 @@
  */
 package org.jboss.hal.flow;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
+import elemental2.promise.Promise;
+
+import static org.jboss.hal.flow.SequenceImpl.Mode.ANY;
 import static org.jboss.hal.flow.SequenceImpl.Mode.PARALLEL;
+import static org.jboss.hal.flow.SequenceImpl.Mode.RACE;
 import static org.jboss.hal.flow.SequenceImpl.Mode.SEQUENTIAL;
 
 /**
- * An interface to execute a list of {@linkplain Task asynchronous tasks} in parallel or sequentially, or to execute a single {@linkplain Task task} {@linkplain #repeat(FlowContext, Task) repeatedly} as long as certain conditions are met.
+ * An interface to execute a list of {@linkplain Task asynchronous tasks} in parallel, sequentially or as a {@linkplain #graph(FlowContext) dependency graph}, or to execute a single {@linkplain Task task} {@linkplain #repeat(FlowContext, Task) repeatedly} as long as certain conditions are met.
  * <p>
  * The {@linkplain Task tasks} share a {@linkplain FlowContext context} that can be used to store data in a map or on a stack.
  */
@@ -39,6 +47,69 @@ public interface Flow {
         return new SequenceImpl<>(PARALLEL, context, tasks);
     }
 
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in parallel. The tasks are taken from the iterable as they are started, so they can be created lazily. If the iterable is a {@link Collection}, its size is used to {@linkplain Progress#reset(int) reset} the progress.
+     *
+     * @param context the context shared between tasks
+     * @param tasks   the tasks to execute in parallel
+     * @param <C>     the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> parallel(C context, Iterable<Task<C>> tasks) {
+        int expected = tasks instanceof Collection ? ((Collection<?>) tasks).size() : -1;
+        return new SequenceImpl<>(PARALLEL, context, tasks.iterator(), expected);
+    }
+
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in parallel. The tasks are taken from the iterator as they are started, so they can be created lazily and memory stays constant no matter how many tasks are executed. Since the number of tasks is unknown, the progress is {@linkplain Progress#reset() indeterminate}.
+     *
+     * @param context the context shared between tasks
+     * @param tasks   the iterator of the tasks to execute in parallel
+     * @param <C>     the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> parallel(C context, Iterator<Task<C>> tasks) {
+        return new SequenceImpl<>(PARALLEL, context, tasks, -1);
+    }
+
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in parallel. The tasks are taken from the iterator as they are started, so they can be created lazily and memory stays constant no matter how many tasks are executed.
+     *
+     * @param context  the context shared between tasks
+     * @param tasks    the iterator of the tasks to execute in parallel
+     * @param expected the expected number of tasks used to {@linkplain Progress#reset(int) reset} the progress
+     * @param <C>      the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> parallel(C context, Iterator<Task<C>> tasks, int expected) {
+        return new SequenceImpl<>(PARALLEL, context, tasks, expected);
+    }
+
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in parallel. The tasks are pulled from the supplier as they are started until the supplier returns {@code null}, so memory stays constant no matter how many tasks are executed. Since the number of tasks is unknown, the progress is {@linkplain Progress#reset() indeterminate}.
+     *
+     * @param context the context shared between tasks
+     * @param tasks   the supplier of the tasks to execute in parallel
+     * @param <C>     the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> parallel(C context, Supplier<Task<C>> tasks) {
+        return new SequenceImpl<>(PARALLEL, context, new TaskIterator<>(tasks), -1);
+    }
+
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in parallel. The tasks are pulled from the supplier as they are started until the supplier returns {@code null}, so memory stays constant no matter how many tasks are executed.
+     *
+     * @param context  the context shared between tasks
+     * @param tasks    the supplier of the tasks to execute in parallel
+     * @param expected the expected number of tasks used to {@linkplain Progress#reset(int) reset} the progress
+     * @param <C>      the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> parallel(C context, Supplier<Task<C>> tasks, int expected) {
+        return new SequenceImpl<>(PARALLEL, context, new TaskIterator<>(tasks), expected);
+    }
+
     /**
      * Executes a list of {@linkplain Task asynchronous tasks} in sequence (one after the other).
      *
@@ -51,6 +122,139 @@ public interface Flow {
         return new SequenceImpl<>(SEQUENTIAL, context, tasks);
     }
 
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in sequence (one after the other). The tasks are taken from the iterable as they are started, so they can be created lazily. If the iterable is a {@link Collection}, its size is used to {@linkplain Progress#reset(int) reset} the progress.
+     *
+     * @param context the context shared between tasks
+     * @param tasks   the tasks to execute in order
+     * @param <C>     the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> sequential(C context, Iterable<Task<C>> tasks) {
+        int expected = tasks instanceof Collection ? ((Collection<?>) tasks).size() : -1;
+        return new SequenceImpl<>(SEQUENTIAL, context, tasks.iterator(), expected);
+    }
+
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in sequence (one after the other). The tasks are taken from the iterator as they are started, so they can be created lazily and memory stays constant no matter how many tasks are executed. Since the number of tasks is unknown, the progress is {@linkplain Progress#reset() indeterminate}.
+     *
+     * @param context the context shared between tasks
+     * @param tasks   the iterator of the tasks to execute in order
+     * @param <C>     the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> sequential(C context, Iterator<Task<C>> tasks) {
+        return new SequenceImpl<>(SEQUENTIAL, context, tasks, -1);
+    }
+
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in sequence (one after the other). The tasks are taken from the iterator as they are started, so they can be created lazily and memory stays constant no matter how many tasks are executed.
+     *
+     * @param context  the context shared between tasks
+     * @param tasks    the iterator of the tasks to execute in order
+     * @param expected the expected number of tasks used to {@linkplain Progress#reset(int) reset} the progress
+     * @param <C>      the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> sequential(C context, Iterator<Task<C>> tasks, int expected) {
+        return new SequenceImpl<>(SEQUENTIAL, context, tasks, expected);
+    }
+
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in sequence (one after the other). The tasks are pulled from the supplier as they are started until the supplier returns {@code null}, so memory stays constant no matter how many tasks are executed. Since the number of tasks is unknown, the progress is {@linkplain Progress#reset() indeterminate}.
+     *
+     * @param context the context shared between tasks
+     * @param tasks   the supplier of the tasks to execute in order
+     * @param <C>     the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> sequential(C context, Supplier<Task<C>> tasks) {
+        return new SequenceImpl<>(SEQUENTIAL, context, new TaskIterator<>(tasks), -1);
+    }
+
+    /**
+     * Executes {@linkplain Task asynchronous tasks} in sequence (one after the other). The tasks are pulled from the supplier as they are started until the supplier returns {@code null}, so memory stays constant no matter how many tasks are executed.
+     *
+     * @param context  the context shared between tasks
+     * @param tasks    the supplier of the tasks to execute in order
+     * @param expected the expected number of tasks used to {@linkplain Progress#reset(int) reset} the progress
+     * @param <C>      the type of the shared context
+     * @return an interface to control whether the execution of the tasks should fail fast or fail last
+     */
+    static <C extends FlowContext> Sequence<C> sequential(C context, Supplier<Task<C>> tasks, int expected) {
+        return new SequenceImpl<>(SEQUENTIAL, context, new TaskIterator<>(tasks), expected);
+    }
+
+    /**
+     * Executes a list of {@linkplain Task asynchronous tasks} in parallel and settles with the first task that has finished, either successfully or with an error. The other tasks are cancelled using their {@linkplain FlowContext#signal() signal}.
+     * <p>
+     * The fail fast and max concurrency settings of the returned {@link Sequence} have no effect.
+     *
+     * @param context the context shared between tasks
+     * @param tasks   the list of tasks to race
+     * @param <C>     the type of the shared context
+     * @return an interface to control the timeout
+     */
+    static <C extends FlowContext> Sequence<C> race(C context, List<Task<C>> tasks) {
+        return new SequenceImpl<>(RACE, context, tasks);
+    }
+
+    /**
+     * Executes a list of {@linkplain Task asynchronous tasks} in parallel and resolves with the first task that has finished successfully. The other tasks are cancelled using their {@linkplain FlowContext#signal() signal}. If all tasks fail, the execution fails with the last error.
+     * <p>
+     * The fail fast and max concurrency settings of the returned {@link Sequence} have no effect.
+     *
+     * @param context the context shared between tasks
+     * @param tasks   the list of tasks to execute
+     * @param <C>     the type of the shared context
+     * @return an interface to control the timeout
+     */
+    static <C extends FlowContext> Sequence<C> any(C context, List<Task<C>> tasks) {
+        return new SequenceImpl<>(ANY, context, tasks);
+    }
+
+    /**
+     * Applies the function to each item. The function is called with the shared context and the item and works like a {@linkplain Task task}, but no task is created for the items. By default, all items are processed at the same time. Use {@link Items} to limit the concurrency or to process the items in chunks.
+     *
+     * @param context  the context shared between the function calls
+     * @param items    the items to process
+     * @param function the function to apply to each item
+     * @param <C>      the type of the shared context
+     * @param <T>      the type of the items
+     * @return an interface to control the fail fast behaviour, timeout, concurrency and chunks
+     */
+    static <C extends FlowContext, T> Items<C> forEach(C context, Iterable<T> items,
+            BiFunction<C, T, Promise<C>> function) {
+        return new ItemsImpl<>(context, items, function, false);
+    }
+
+    /**
+     * Applies the function to each item and collects the results. When all items have been processed, the list of results is pushed on top of the {@linkplain FlowContext#pop() stack} of the context. By default, the results are in the order of the items. If the execution fails last, the results of the failed items are missing ({@code null} for ordered results).
+     *
+     * @param context  the context shared between the function calls
+     * @param items    the items to process
+     * @param function the function to apply to each item
+     * @param <C>      the type of the shared context
+     * @param <T>      the type of the items
+     * @param <R>      the type of the results
+     * @return an interface to control the fail fast behaviour, timeout, concurrency, chunks and the order of the results
+     */
+    static <C extends FlowContext, T, R> Items<C> map(C context, Iterable<T> items,
+            BiFunction<C, T, Promise<R>> function) {
+        return new ItemsImpl<>(context, items, function, true);
+    }
+
+    /**
+     * Executes {@linkplain Task asynchronous tasks} as a dependency graph. Each task is started as soon as all of its dependencies have finished.
+     *
+     * @param context the context shared between tasks
+     * @param <C>     the type of the shared context
+     * @return an interface to add tasks and their dependencies and to control the fail fast behaviour, timeout and concurrency
+     */
+    static <C extends FlowContext> Graph<C> graph(C context) {
+        return new GraphImpl<>(context);
+    }
+
     /**
      * Executes the given {@linkplain Task task} repeatedly as long as the conditions defined by {@link Repeat} are met.
      *
@@ -22,7 +22,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import elemental2.dom.AbortSignal;
 import elemental2.promise.Promise;
 
 /**
@@ -30,6 +32,8 @@ import elemental2.promise.Promise;
  * <p>
  * The context provides a {@linkplain Progress progress indicator} to signal the progress of the task execution and a stack and a map for sharing data between {@linkplain Task asynchronous tasks}.
  * <p>
+ * If the execution is cancelled because of a timeout or a failure, the context {@linkplain #signal() signals} running tasks to stop their work.
+ * <p>
  * Finally, the context provides methods to resolve the context as promise.
  */
 public class FlowContext {
@@ -41,8 +45,37 @@ public class FlowContext {
         return error.equals(FlowRunner.TIMEOUT_ERROR);
     }
 
+    /**
+     * Method to check if the error in a {@linkplain elemental2.promise.Promise.CatchOnRejectedCallbackFn catch} callback is due to the timeout of a single {@linkplain TimeoutTask task}, as opposed to the {@linkplain #timeout(Object) timeout} of the whole flow.
+     */
+    public static boolean taskTimeout(Object error) {
+        return FlowRunner.TASK_TIMEOUT_ERROR.equals(error);
+    }
+
+    /**
+     * Method to check if the error in a {@linkplain elemental2.promise.Promise.CatchOnRejectedCallbackFn catch} callback is due to a cancellation, e.g. because another task won a {@linkplain Flow#race(FlowContext, List) race}.
+     */
+    public static boolean cancelled(Object error) {
+        return FlowRunner.CANCELLED_ERROR.equals(error);
+    }
+
+    /**
+     * Method to check if the error in a {@linkplain elemental2.promise.Promise.CatchOnRejectedCallbackFn catch} callback is due to an open {@linkplain CircuitBreaker circuit breaker}.
+     */
+    public static boolean circuitOpen(Object error) {
+        return FlowRunner.CIRCUIT_OPEN_ERROR.equals(error);
+    }
+
+    /**
+     * Method to check if the error in a {@linkplain elemental2.promise.Promise.CatchOnRejectedCallbackFn catch} callback is due to a full {@linkplain Bulkhead bulkhead}.
+     */
+    public static boolean bulkheadFull(Object error) {
+        return FlowRunner.BULKHEAD_FULL_ERROR.equals(error);
+    }
+
     private final Stack<Object> stack;
     private final Map<String, Object> data;
+    private Cancellation cancellation;
     final Progress progress;
     FlowStatus status;
     String failure;
@@ -63,6 +96,7 @@ public class FlowContext {
         this.progress = progress;
         this.stack = new Stack<>();
         this.data = new HashMap<>();
+        this.cancellation = new Cancellation();
         this.status = FlowStatus.NOT_STARTED;
     }
 
@@ -104,6 +138,89 @@ public class FlowContext {
         return Promise.reject(error);
     }
 
+    // ------------------------------------------------------ cancellation
+
+    /**
+     * Returns a signal that is aborted as soon as the execution is cancelled because of a timeout or a failure. Tasks can pass the signal to {@code fetch()} or register an {@code abort} listener to tear down running work.
+     * <p>
+     * Tasks should get the signal when they are started. Some flows like {@link Flow#race(FlowContext, List)} use a separate signal for each task, which is only returned while the task is started.
+     */
+    public AbortSignal signal() {
+        return cancellation.signal();
+    }
+
+    /**
+     * @return whether the execution has been cancelled
+     */
+    public boolean cancelled() {
+        return cancellation.cancelled();
+    }
+
+    /**
+     * @return the reason why the current signal has been aborted
+     */
+    Object cancelReason() {
+        return cancellation.reason();
+    }
+
+    /**
+     * @return the cancellation of the current signal
+     */
+    Cancellation cancellation() {
+        return cancellation;
+    }
+
+    /**
+     * Creates a new cancellation which is cancelled together with the current signal.
+     */
+    Cancellation fork() {
+        return cancellation.fork();
+    }
+
+    /**
+     * Uses the signal of the given cancellation while calling the supplier.
+     */
+    <T> T scoped(Cancellation cancellation, Supplier<T> supplier) {
+        Cancellation previous = this.cancellation;
+        this.cancellation = cancellation;
+        try {
+            return supplier.get();
+        } finally {
+            this.cancellation = previous;
+        }
+    }
+
+    /**
+     * Starts a flow nested inside a task of the outer context. If this is a separate context, the nested flow uses the signal of the outer context and doesn't run longer than the deadline of the outer context.
+     */
+    <T> T nestIn(FlowContext outer, Supplier<T> supplier) {
+        if (outer != this) {
+            return scoped(outer.cancellation, supplier);
+        } else {
+            return supplier.get();
+        }
+    }
+
+    // ------------------------------------------------------ deadline
+
+    /**
+     * Returns the absolute deadline in milliseconds since the epoch or {@code -1} if there's no deadline.
+     * <p>
+     * The deadline is derived from the timeout of the flow which started the current task and the deadlines of the flows it is nested in. Nested flows never run longer than the flows they are nested in. Like the {@linkplain #signal() signal}, tasks should query the deadline when they are started.
+     */
+    public long deadline() {
+        return cancellation.deadline();
+    }
+
+    /**
+     * Returns the remaining time in milliseconds until the {@linkplain #deadline() deadline}, {@code 0} if the deadline has passed or {@code -1} if there's no deadline.
+     * <p>
+     * Tasks can use this method to skip work which cannot finish in time.
+     */
+    public long remaining() {
+        return cancellation.remaining();
+    }
+
     // ------------------------------------------------------ data
 
     /**
@@ -1,16 +1,29 @@
 package org.jboss.hal.flow;
 
+import java.util.function.Supplier;
+
 import elemental2.promise.IThenable;
 import elemental2.promise.Promise;
 
+import static org.jboss.hal.flow.Timers.now;
+
 abstract class FlowRunner<C extends FlowContext> implements Promisable<C>, Subscription<C> {
 
     static final String TIMEOUT_ERROR = "flow.timeout";
+    static final String TASK_TIMEOUT_ERROR = "flow.task.timeout";
+    static final String CANCELLED_ERROR = "flow.cancelled";
+    static final String CIRCUIT_OPEN_ERROR = "flow.circuit.open";
+    static final String BULKHEAD_FULL_ERROR = "flow.bulkhead.full";
 
     final C context;
+    Priority priority;
+    long timeout;
+    Cancellation cancellation;
 
     protected FlowRunner(final C context, final int tasks) {
         this.context = context;
+        this.priority = Priority.NORMAL;
+        this.timeout = -1;
         if (tasks > 1) {
             this.context.progress.reset(tasks);
         } else {
@@ -60,12 +73,23 @@ abstract class FlowRunner<C extends FlowContext> implements Promisable<C>, Subsc
 
     Promise<C> runAndCatch(final boolean rejectOnError) {
         context.status = FlowStatus.IN_PROGRESS;
-        return run()
+        // a scheduled task which starts a nested flow must not hold a slot the nested tasks are waiting for
+        context.cancellation().releaseSlot();
+        // each run gets its own cancellation and deadline, so that neither leaks into the outer flow
+        cancellation = context.fork();
+        if (timeout > 0) {
+            cancellation.limit(now() + timeout);
+        }
+        Promise<C> promise = remaining() == 0 ? Promise.reject(TIMEOUT_ERROR) : context.scoped(cancellation,
+                this::run);
+        return promise
                 .then(c -> {
+                    cancellation.detach();
                     c.status = FlowStatus.SUCCESS;
                     return Promise.resolve(c);
                 })
                 .catch_(error -> {
+                    cancellation.detach();
                     if (TIMEOUT_ERROR.equals(error)) {
                         context.status = FlowStatus.TIMEOUT;
                     } else {
@@ -81,4 +105,65 @@ abstract class FlowRunner<C extends FlowContext> implements Promisable<C>, Subsc
     }
 
     abstract Promise<C> run();
+
+    /**
+     * @return whether this run has been cancelled, either by itself or by an outer flow
+     */
+    boolean cancelled() {
+        return cancellation.cancelled();
+    }
+
+    /**
+     * Cancels this run and aborts the signals of the running tasks. Outer flows are not affected.
+     */
+    void cancel(Object reason) {
+        cancellation.cancel(reason);
+    }
+
+    Object cancelReason() {
+        return cancellation.reason();
+    }
+
+    /**
+     * @return the time remaining until the deadline of this run, {@code 0} if the deadline has passed or {@code -1} if there's no deadline
+     */
+    long remaining() {
+        return cancellation.remaining();
+    }
+
+    /**
+     * Starts the given task right away or hands it over to the {@linkplain Scheduler scheduler} if enabled.
+     */
+    Promise<C> execute(final Task<C> task) {
+        return execute(task, () -> task.apply(context));
+    }
+
+    Promise<C> execute(final Task<C> task, final Supplier<Promise<C>> start) {
+        Scheduler scheduler = Scheduler.scheduler();
+        if (scheduler == null || task instanceof ParallelTasks || task instanceof SequentialTasks ||
+                task instanceof RepeatTask) {
+            return context.scoped(cancellation, start);
+        } else {
+            return scheduler.submit(priority, slot -> scheduled(cancellation.fork(slot), start));
+        }
+    }
+
+    /**
+     * Starts a task using its own cancellation and detaches the cancellation when the task has finished. If the flow has been cancelled while the task was pending in the scheduler, the task is not started at all.
+     */
+    <T> Promise<T> scheduled(final Cancellation taskCancellation, final Supplier<Promise<T>> start) {
+        if (taskCancellation.cancelled()) {
+            taskCancellation.detach();
+            return Promise.reject(CANCELLED_ERROR);
+        }
+        return context.scoped(taskCancellation, start)
+                .then(value -> {
+                    taskCancellation.detach();
+                    return Promise.resolve(value);
+                })
+                .catch_(error -> {
+                    taskCancellation.detach();
+                    return Promise.reject(error);
+                });
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+/**
+ * The clock and the timers used by the flow engine.
+ * <p>
+ * All timeouts, intervals, delays and time measurements of {@link Flow}, {@link Sequence}, {@link Repeat}, {@link Graph} and the task implementations go through the current runtime. By default, the engine uses the {@linkplain #BROWSER browser runtime} based on {@code setTimeout()} and {@code setInterval()}. The interface is package-private for now; it's the place to plug in another runtime once there's a second implementation.
+ * <p>
+ * Implementations must call the callbacks on the thread which runs the flows, since the engine is not thread-safe.
+ */
+interface FlowRuntime {
+
+    /**
+     * The default runtime based on {@code Date.now()}, {@code setTimeout()} and {@code setInterval()}.
+     */
+    FlowRuntime BROWSER = new BrowserRuntime();
+
+    /**
+     * Replaces the current runtime. The runtime should be replaced before any flow is started, since running timers are cancelled using the current runtime.
+     */
+    static void use(final FlowRuntime runtime) {
+        Timers.runtime = runtime != null ? runtime : BROWSER;
+    }
+
+    /**
+     * @return the current runtime
+     */
+    static FlowRuntime runtime() {
+        return Timers.runtime;
+    }
+
+    /**
+     * @return the current time in milliseconds since the epoch
+     */
+    long now();
+
+    /**
+     * Calls the callback once after the given delay.
+     *
+     * @return a handle to cancel the timeout
+     */
+    double setTimeout(Runnable callback, long delay);
+
+    /**
+     * Cancels a timeout returned by {@link #setTimeout(Runnable, long)}.
+     */
+    void clearTimeout(double handle);
+
+    /**
+     * Calls the callback repeatedly using the given interval.
+     *
+     * @return a handle to cancel the interval
+     */
+    double setInterval(Runnable callback, long interval);
+
+    /**
+     * Cancels an interval returned by {@link #setInterval(Runnable, long)}.
+     */
+    void clearInterval(double handle);
+}
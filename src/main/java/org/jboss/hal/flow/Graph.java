@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+/**
+ * An interface to control the execution of {@linkplain Task asynchronous tasks} as a {@linkplain Flow#graph(FlowContext) dependency graph}.
+ * <p>
+ * Each task is added with a unique ID and the IDs of the tasks it depends on. A task is started as soon as all of its dependencies have finished successfully. Unknown dependencies and cycles are detected before any task is started and fail the execution.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ */
+public interface Graph<C extends FlowContext> extends Promisable<C>, Subscription<C> {
+
+    /**
+     * By default, the execution of {@linkplain Task tasks} fail fast.
+     */
+    boolean DEFAULT_FAIL_FAST = true;
+
+    /**
+     * By default, no timeout is used.
+     */
+    long DEFAULT_TIMEOUT = -1;
+
+    /**
+     * By default, the number of {@linkplain Task tasks} executed at the same time is not limited.
+     */
+    int DEFAULT_MAX_CONCURRENCY = -1;
+
+    /**
+     * Adds a {@linkplain Task task} to the graph.
+     *
+     * @param id           the unique ID of the task
+     * @param task         the task to execute
+     * @param dependencies the IDs of the tasks which need to finish before the task is started
+     * @throws IllegalArgumentException if a task with the same ID has already been added
+     */
+    Graph<C> add(String id, Task<C> task, String... dependencies);
+
+    /**
+     * Whether the execution of {@linkplain Task tasks} should fail fast or fail last. Defaults to {@value DEFAULT_FAIL_FAST}.
+     * <p>
+     * If the execution fails last, the tasks which depend on a failed task are skipped.
+     */
+    Graph<C> failFast(boolean failFast);
+
+    /**
+     * The timeout in milliseconds for the graph. Defaults to no timeout ({@value #DEFAULT_TIMEOUT}). If the flow is nested inside another flow, the timeout is limited to the time remaining until the {@linkplain FlowContext#deadline() deadline} of the outer flow.
+     */
+    Graph<C> timeout(long timeout);
+
+    /**
+     * The maximal number of {@linkplain Task tasks} which are executed at the same time. Defaults to no limit ({@value #DEFAULT_MAX_CONCURRENCY}).
+     */
+    Graph<C> maxConcurrency(int maxConcurrency);
+
+    /**
+     * The priority used by the {@linkplain Scheduler scheduler} to decide which pending task is started next. Defaults to {@link Priority#NORMAL}. Has no effect if the scheduler is not enabled.
+     */
+    Graph<C> priority(Priority priority);
+}
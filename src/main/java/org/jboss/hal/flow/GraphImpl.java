@@ -0,0 +1,258 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.joining;
+import static org.jboss.hal.flow.Timers.clearTimeout;
+import static org.jboss.hal.flow.Timers.setTimeout;
+
+class GraphImpl<C extends FlowContext> extends FlowRunner<C> implements Graph<C> {
+
+    private final Map<String, Node<C>> nodes;
+    private final Deque<Node<C>> ready;
+    private boolean failFast;
+    private int maxConcurrency;
+    private double timeoutHandle;
+    private boolean failed;
+    private int running;
+    private int settled;
+
+    GraphImpl(final C context) {
+        super(context, 1);
+        this.nodes = new LinkedHashMap<>();
+        this.ready = new ArrayDeque<>();
+        this.failFast = DEFAULT_FAIL_FAST;
+        this.timeout = DEFAULT_TIMEOUT;
+        this.maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        this.timeoutHandle = 0;
+        this.failed = false;
+        this.running = 0;
+        this.settled = 0;
+    }
+
+    // ------------------------------------------------------ graph API
+
+    @Override
+    public Graph<C> add(final String id, final Task<C> task, final String... dependencies) {
+        if (nodes.containsKey(id)) {
+            throw new IllegalArgumentException("Duplicate task in flow graph: " + id);
+        }
+        nodes.put(id, new Node<>(id, task, asList(dependencies)));
+        return this;
+    }
+
+    @Override
+    public Graph<C> failFast(final boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    @Override
+    public Graph<C> timeout(final long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    @Override
+    public Graph<C> maxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public Graph<C> priority(final Priority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    // ------------------------------------------------------ run
+
+    @Override
+    Promise<C> run() {
+        if (nodes.isEmpty()) {
+            return Promise.resolve(context);
+        }
+        String error = link();
+        if (error != null) {
+            return Promise.reject(error);
+        }
+
+        context.progress.reset(nodes.size());
+        return new Promise<C>((resolve, reject) -> {
+            long budget = remaining();
+            if (budget >= 0) {
+                timeoutHandle = setTimeout(() -> fail(reject, TIMEOUT_ERROR), budget);
+            }
+            for (Node<C> node : nodes.values()) {
+                if (node.pending == 0) {
+                    ready.add(node);
+                }
+            }
+            schedule(resolve, reject);
+        }).then(c -> {
+            clearTimeout(timeoutHandle);
+            context.progress.finish();
+            return Promise.resolve(context);
+        }).catch_(e -> {
+            clearTimeout(timeoutHandle);
+            return Promise.reject(e);
+        });
+    }
+
+    private void schedule(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        if (!failed) {
+            if (cancelled()) {
+                fail(reject, cancelReason());
+            } else if (remaining() == 0) {
+                fail(reject, TIMEOUT_ERROR);
+            } else {
+                while (!ready.isEmpty() && (maxConcurrency <= 0 || running < maxConcurrency)) {
+                    start(ready.poll(), resolve, reject);
+                }
+                if (running == 0 && settled == nodes.size()) {
+                    resolve.onInvoke(context);
+                }
+            }
+        }
+    }
+
+    private void start(Node<C> node, ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        running++;
+        execute(node.task)
+                .then(c -> {
+                    running--;
+                    settled++;
+                    context.progress.tick();
+                    for (Node<C> dependent : node.dependents) {
+                        dependent.pending--;
+                        if (dependent.pending == 0) {
+                            ready.add(dependent);
+                        }
+                    }
+                    schedule(resolve, reject);
+                    return null;
+                }, error -> {
+                    running--;
+                    settled++;
+                    if (failFast) {
+                        fail(reject, error);
+                    } else {
+                        skip(node);
+                        schedule(resolve, reject);
+                    }
+                    return null;
+                });
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    /**
+     * Links the nodes with their dependencies and returns an error message if there are unknown dependencies or cycles, {@code null} otherwise.
+     */
+    private String link() {
+        for (Node<C> node : nodes.values()) {
+            for (String dependency : node.dependencies) {
+                Node<C> prerequisite = nodes.get(dependency);
+                if (prerequisite == null) {
+                    return "Unknown dependency '" + dependency + "' of task '" + node.id + "' in flow graph";
+                }
+                prerequisite.dependents.add(node);
+                node.pending++;
+            }
+        }
+
+        // Kahn's algorithm: all nodes are visited if and only if the graph has no cycles
+        Map<String, Integer> remaining = new HashMap<>();
+        Deque<Node<C>> queue = new ArrayDeque<>();
+        for (Node<C> node : nodes.values()) {
+            remaining.put(node.id, node.pending);
+            if (node.pending == 0) {
+                queue.add(node);
+            }
+        }
+        int visited = 0;
+        while (!queue.isEmpty()) {
+            Node<C> node = queue.poll();
+            visited++;
+            for (Node<C> dependent : node.dependents) {
+                int count = remaining.get(dependent.id) - 1;
+                remaining.put(dependent.id, count);
+                if (count == 0) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        if (visited < nodes.size()) {
+            return "Cycle in flow graph: " + remaining.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .map(Map.Entry::getKey)
+                    .collect(joining(", "));
+        }
+        return null;
+    }
+
+    private void skip(Node<C> node) {
+        for (Node<C> dependent : node.dependents) {
+            if (!dependent.skipped) {
+                dependent.skipped = true;
+                settled++;
+                skip(dependent);
+            }
+        }
+    }
+
+    private void fail(RejectCallbackFn reject, Object error) {
+        if (!failed) {
+            failed = true;
+            cancel(error);
+            reject.onInvoke(error);
+        }
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Node<C extends FlowContext> {
+
+        final String id;
+        final Task<C> task;
+        final List<String> dependencies;
+        final List<Node<C>> dependents;
+        int pending;
+        boolean skipped;
+
+        Node(final String id, final Task<C> task, final List<String> dependencies) {
+            this.id = id;
+            this.task = task;
+            this.dependencies = dependencies;
+            this.dependents = new ArrayList<>();
+            this.pending = 0;
+            this.skipped = false;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.Arrays;
+import java.util.List;
+
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+import static org.jboss.hal.flow.Timers.clearTimeout;
+import static org.jboss.hal.flow.Timers.now;
+import static org.jboss.hal.flow.Timers.setTimeout;
+
+/**
+ * A task implementation that starts a duplicate of an idempotent {@linkplain Task task} if the task has not finished within a delay.
+ * <p>
+ * The first successful execution wins and the other one is cancelled using its {@linkplain FlowContext#signal() signal}. The execution fails only if both executions fail. The delay is either fixed or derived from the 95th percentile of the observed execution times. Use the same instance in different flows to collect execution times.
+ * <p>
+ * This implementation makes it easy to reduce the tail latency of calls to {@link Flow#parallel(FlowContext, List)}, where the slowest task decides the duration of the whole flow. Only use it for tasks which are safe to execute twice.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ */
+public class HedgedTask<C extends FlowContext> implements Task<C> {
+
+    /**
+     * By default, the duplicate is started after half a second as long as not enough execution times have been observed.
+     */
+    public static final long DEFAULT_DELAY = 500;
+
+    private static final int MAX_SAMPLES = 100;
+    private static final int MIN_SAMPLES = 20;
+    private static final double PERCENTILE = 0.95;
+
+    private final Task<C> task;
+    private final long delay;
+    private final boolean adaptive;
+    private final long[] samples;
+    private int sampleCount;
+    private int samplePosition;
+
+    /**
+     * Creates a new task that starts a duplicate of the given {@linkplain Task task} if it has not finished within the 95th percentile of the observed execution times. As long as not enough execution times have been observed, the duplicate is started after {@value #DEFAULT_DELAY} milliseconds.
+     *
+     * @param task the idempotent task to execute
+     */
+    public HedgedTask(final Task<C> task) {
+        this(task, DEFAULT_DELAY, true);
+    }
+
+    /**
+     * Creates a new task that starts a duplicate of the given {@linkplain Task task} if it has not finished within the given delay.
+     *
+     * @param task  the idempotent task to execute
+     * @param delay the delay in milliseconds after which the duplicate is started
+     */
+    public HedgedTask(final Task<C> task, final long delay) {
+        this(task, delay, false);
+    }
+
+    private HedgedTask(final Task<C> task, final long delay, final boolean adaptive) {
+        this.task = task;
+        this.delay = delay;
+        this.adaptive = adaptive;
+        this.samples = new long[MAX_SAMPLES];
+        this.sampleCount = 0;
+        this.samplePosition = 0;
+    }
+
+    @Override
+    public Promise<C> apply(final C context) {
+        // the duplicate is started later, so capture the signal which is current now
+        Cancellation parent = context.cancellation();
+        return new Promise<C>((resolve, reject) -> {
+            Hedge hedge = new Hedge();
+            hedge.primary = start(context, parent, hedge, resolve, reject);
+            hedge.handle = setTimeout(() -> {
+                if (!hedge.settled && !parent.cancelled()) {
+                    hedge.secondary = start(context, parent, hedge, resolve, reject);
+                }
+            }, delay());
+        });
+    }
+
+    private Cancellation start(C context, Cancellation parent, Hedge hedge, ResolveCallbackFn<C> resolve,
+            RejectCallbackFn reject) {
+        Cancellation cancellation = parent.fork();
+        long start = now();
+        hedge.running++;
+        context.scoped(cancellation, () -> task.apply(context))
+                .then(c -> {
+                    hedge.running--;
+                    cancellation.detach();
+                    if (!hedge.settled) {
+                        hedge.settled = true;
+                        clearTimeout(hedge.handle);
+                        sample(now() - start);
+                        hedge.abortOther(cancellation);
+                        resolve.onInvoke(c);
+                    }
+                    return null;
+                })
+                .catch_(error -> {
+                    hedge.running--;
+                    cancellation.detach();
+                    if (!hedge.settled && (hedge.running == 0 || parent.cancelled())) {
+                        hedge.settled = true;
+                        clearTimeout(hedge.handle);
+                        reject.onInvoke(error);
+                    }
+                    return null;
+                });
+        return cancellation;
+    }
+
+    // ------------------------------------------------------ execution times
+
+    private long delay() {
+        if (adaptive && sampleCount >= MIN_SAMPLES) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            return sorted[Math.min(sampleCount - 1, (int) Math.ceil(PERCENTILE * sampleCount) - 1)];
+        }
+        return delay;
+    }
+
+    private void sample(long elapsed) {
+        samples[samplePosition] = elapsed;
+        samplePosition = (samplePosition + 1) % MAX_SAMPLES;
+        sampleCount = Math.min(sampleCount + 1, MAX_SAMPLES);
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Hedge {
+
+        Cancellation primary;
+        Cancellation secondary;
+        double handle;
+        int running;
+        boolean settled;
+
+        void abortOther(Cancellation winner) {
+            if (primary != null && primary != winner) {
+                primary.cancel(FlowRunner.CANCELLED_ERROR);
+            }
+            if (secondary != null && secondary != winner) {
+                secondary.cancel(FlowRunner.CANCELLED_ERROR);
+            }
+        }
+    }
+}
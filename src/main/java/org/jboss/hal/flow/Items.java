@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * An interface to control the execution of a function for each item of a {@linkplain Flow#forEach(FlowContext, Iterable, BiFunction) collection}. Unlike {@link Flow#parallel(FlowContext, List)}, no {@linkplain Task task} is created for the items. The function is applied to the items as they are started.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between the function calls
+ */
+public interface Items<C extends FlowContext> extends Promisable<C>, Subscription<C> {
+
+    /**
+     * By default, the execution fails fast.
+     */
+    boolean DEFAULT_FAIL_FAST = true;
+
+    /**
+     * By default, no timeout is used.
+     */
+    long DEFAULT_TIMEOUT = -1;
+
+    /**
+     * By default, the number of items processed at the same time is not limited.
+     */
+    int DEFAULT_MAX_CONCURRENCY = -1;
+
+    /**
+     * By default, the items are not processed in chunks.
+     */
+    int DEFAULT_CHUNK_SIZE = -1;
+
+    /**
+     * By default, the results are collected in the order of the items.
+     */
+    boolean DEFAULT_ORDERED = true;
+
+    /**
+     * Whether the execution should fail fast or fail last. Defaults to {@value DEFAULT_FAIL_FAST}.
+     */
+    Items<C> failFast(boolean failFast);
+
+    /**
+     * The timeout in milliseconds for processing all items. Defaults to no timeout ({@value #DEFAULT_TIMEOUT}). If the flow is nested inside another flow, the timeout is limited to the time remaining until the {@linkplain FlowContext#deadline() deadline} of the outer flow.
+     */
+    Items<C> timeout(long timeout);
+
+    /**
+     * The maximal number of items which are processed at the same time. Defaults to no limit ({@value #DEFAULT_MAX_CONCURRENCY}). Use {@code 1} to process the items one after the other.
+     */
+    Items<C> maxConcurrency(int maxConcurrency);
+
+    /**
+     * Splits the items into chunks of the given size. The items of a chunk are processed at the same time (limited by the {@linkplain #maxConcurrency(int) max concurrency}), and the next chunk is started when all items of the current chunk have finished. Defaults to no chunks ({@value #DEFAULT_CHUNK_SIZE}).
+     */
+    Items<C> chunkSize(int chunkSize);
+
+    /**
+     * Whether the results of {@link Flow#map(FlowContext, Iterable, BiFunction)} are collected in the order of the items or in the order the items have finished. Defaults to {@value DEFAULT_ORDERED}. Has no effect for {@link Flow#forEach(FlowContext, Iterable, BiFunction)}.
+     */
+    Items<C> ordered(boolean ordered);
+
+    /**
+     * The priority used by the {@linkplain Scheduler scheduler} to decide which pending item is started next. Defaults to {@link Priority#NORMAL}. Has no effect if the scheduler is not enabled.
+     */
+    Items<C> priority(Priority priority);
+}
@@ -0,0 +1,200 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+import static org.jboss.hal.flow.Timers.clearTimeout;
+import static org.jboss.hal.flow.Timers.setTimeout;
+
+class ItemsImpl<C extends FlowContext, T, R> extends FlowRunner<C> implements Items<C> {
+
+    private final Iterator<T> iterator;
+    private final BiFunction<C, T, Promise<R>> function;
+    private final boolean collect;
+    private final List<R> results;
+    private boolean failFast;
+    private int maxConcurrency;
+    private int chunkSize;
+    private boolean ordered;
+    private double timeoutHandle;
+    private boolean failed;
+    private int running;
+    private int chunked;
+    private int index;
+
+    ItemsImpl(final C context, final Iterable<T> items, final BiFunction<C, T, Promise<R>> function,
+            final boolean collect) {
+        super(context, items instanceof Collection ? ((Collection<?>) items).size() : -1);
+        this.iterator = items.iterator();
+        this.function = function;
+        this.collect = collect;
+        this.results = new ArrayList<>();
+        this.failFast = DEFAULT_FAIL_FAST;
+        this.timeout = DEFAULT_TIMEOUT;
+        this.maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        this.chunkSize = DEFAULT_CHUNK_SIZE;
+        this.ordered = DEFAULT_ORDERED;
+        this.timeoutHandle = 0;
+        this.failed = false;
+        this.running = 0;
+        this.chunked = 0;
+        this.index = 0;
+    }
+
+    // ------------------------------------------------------ items API
+
+    @Override
+    public Items<C> failFast(final boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    @Override
+    public Items<C> timeout(final long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    @Override
+    public Items<C> maxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public Items<C> chunkSize(final int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    @Override
+    public Items<C> ordered(final boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    @Override
+    public Items<C> priority(final Priority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    // ------------------------------------------------------ run
+
+    @Override
+    Promise<C> run() {
+        return new Promise<C>((resolve, reject) -> {
+            long budget = remaining();
+            if (budget >= 0) {
+                timeoutHandle = setTimeout(() -> fail(reject, TIMEOUT_ERROR), budget);
+            }
+            join(resolve, reject);
+        }).then(c -> {
+            clearTimeout(timeoutHandle);
+            if (collect) {
+                context.push(results);
+            }
+            context.progress.finish();
+            return Promise.resolve(context);
+        }).catch_(error -> {
+            clearTimeout(timeoutHandle);
+            return Promise.reject(error);
+        });
+    }
+
+    private void join(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        if (!failed) {
+            if (cancelled()) {
+                fail(reject, cancelReason());
+            } else if (remaining() == 0) {
+                fail(reject, TIMEOUT_ERROR);
+            } else {
+                if (chunkSize > 0 && chunked >= chunkSize && running == 0) {
+                    chunked = 0;
+                }
+                int limit = maxConcurrency > 0 ? maxConcurrency : Integer.MAX_VALUE;
+                while (!failed && iterator.hasNext() && running < limit && (chunkSize <= 0 || chunked < chunkSize)) {
+                    start(resolve, reject);
+                }
+                if (running == 0 && !iterator.hasNext()) {
+                    resolve.onInvoke(context);
+                }
+            }
+        }
+    }
+
+    private void start(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        T item = iterator.next();
+        int current = index++;
+        running++;
+        chunked++;
+        if (collect && ordered) {
+            results.add(null);
+        }
+        schedule(() -> function.apply(context, item))
+                .then(result -> {
+                    running--;
+                    if (collect) {
+                        if (ordered) {
+                            results.set(current, result);
+                        } else {
+                            results.add(result);
+                        }
+                    }
+                    context.progress.tick();
+                    join(resolve, reject);
+                    return null;
+                }, error -> {
+                    running--;
+                    if (failFast) {
+                        fail(reject, error);
+                    } else {
+                        context.progress.tick();
+                        join(resolve, reject);
+                    }
+                    return null;
+                });
+    }
+
+    private void fail(RejectCallbackFn reject, Object error) {
+        if (!failed) {
+            failed = true;
+            cancel(error);
+            reject.onInvoke(error);
+        }
+    }
+
+    // ------------------------------------------------------ helper methods
+
+    private Promise<R> schedule(Supplier<Promise<R>> start) {
+        Scheduler scheduler = Scheduler.scheduler();
+        if (scheduler == null) {
+            return context.scoped(cancellation, start);
+        } else {
+            return scheduler.submit(priority, slot -> scheduled(cancellation.fork(slot), start));
+        }
+    }
+}
@@ -18,6 +18,7 @@ public class ParallelTasks<C extends FlowContext> implements Task<C> {
     private final C context;
     private final List<Task<C>> tasks;
     private final boolean failFast;
+    private final int maxConcurrency;
 
     /**
      * Creates a new task that executes the given list of {@linkplain Task asynchronous tasks} in {@linkplain Flow#parallel(FlowContext, List) parallel} re-using an existing {@linkplain FlowContext context}.
@@ -64,16 +65,33 @@ public class ParallelTasks<C extends FlowContext> implements Task<C> {
      * @param failFast whether the execution of the tasks should fail fast or fail last
      */
     public ParallelTasks(final C context, final List<Task<C>> tasks, final boolean failFast) {
+        this(context, tasks, failFast, Sequence.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Creates a new task that executes the given list of {@linkplain Task asynchronous tasks} in {@linkplain Flow#parallel(FlowContext, List) parallel} using a new {@linkplain FlowContext context}, but executes at most {@code maxConcurrency} tasks at the same time.
+     * <p>
+     * If {@code context} is {@code null}, the task re-uses the {@linkplain FlowContext context} from the outer call to {@link Flow#parallel(FlowContext, List)}, {@link Flow#sequential(FlowContext, List)} or {@link Flow#repeat(FlowContext, Task)}.
+     *
+     * @param context        the context shared between tasks
+     * @param tasks          The list of tasks to execute
+     * @param failFast       whether the execution of the tasks should fail fast or fail last
+     * @param maxConcurrency the maximal number of tasks executed at the same time
+     */
+    public ParallelTasks(final C context, final List<Task<C>> tasks, final boolean failFast,
+            final int maxConcurrency) {
         this.context = context;
         this.tasks = tasks;
         this.failFast = failFast;
+        this.maxConcurrency = maxConcurrency;
     }
 
     @Override
     public Promise<C> apply(final C context) {
         C contextToUse = this.context != null ? this.context : context;
-        return parallel(contextToUse, tasks)
+        return contextToUse.nestIn(context, () -> parallel(contextToUse, tasks)
                 .failFast(failFast)
-                .promise();
+                .maxConcurrency(maxConcurrency)
+                .promise());
     }
 }
@@ -15,15 +15,23 @@
  */
 package org.jboss.hal.flow;
 
-import elemental2.promise.IThenable;
-import elemental2.promise.Promise;
-import jsinterop.annotations.JsType;
+/**
+ * Enum for the priority used by the {@linkplain Scheduler scheduler} to decide which pending {@linkplain Task task} is started next.
+ */
+public enum Priority {
 
-// We redefine parts of the promise API
-@JsType(isNative = true, name = "Promise", namespace = "<global>")
-class FlowPromise {
+    /**
+     * Tasks triggered by the user who waits for the result.
+     */
+    INTERACTIVE,
 
-    static native <V> Promise<Object[]> all(IThenable<? extends V>[] promises);
+    /**
+     * Regular tasks.
+     */
+    NORMAL,
 
-    static native <V> Promise<Object[]> allSettled(IThenable<? extends V>[] promises);
+    /**
+     * Tasks running in the background like polling.
+     */
+    BACKGROUND
 }
@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+
+import elemental2.promise.Promise;
+
+/**
+ * A task implementation that delays the start of a {@linkplain Task task} until the {@linkplain RateLimiter rate limiter} hands out a token.
+ * <p>
+ * This implementation makes it easy to limit the rate of requests sent by independent calls to {@link Flow#parallel(FlowContext, List)}, {@link Flow#sequential(FlowContext, List)} or {@link Flow#repeat(FlowContext, Task)}.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ */
+public class RateLimitedTask<C extends FlowContext> implements Task<C> {
+
+    private final RateLimiter rateLimiter;
+    private final Task<C> task;
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task task} using the {@linkplain RateLimiter#rateLimiter(String) rate limiter} with the given name.
+     *
+     * @param name the name of the rate limiter
+     * @param task the task to execute
+     */
+    public RateLimitedTask(final String name, final Task<C> task) {
+        this(RateLimiter.rateLimiter(name), task);
+    }
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task task} using the given rate limiter.
+     *
+     * @param rateLimiter the rate limiter
+     * @param task        the task to execute
+     */
+    public RateLimitedTask(final RateLimiter rateLimiter, final Task<C> task) {
+        this.rateLimiter = rateLimiter;
+        this.task = task;
+    }
+
+    @Override
+    public Promise<C> apply(final C context) {
+        // the task is started later, so capture the signal which is current now
+        Cancellation cancellation = context.cancellation();
+        return rateLimiter.acquire(cancellation).then(__ -> {
+            // the time spent waiting for a token is no execution time
+            cancellation.restartClock();
+            return context.scoped(cancellation, () -> task.apply(context));
+        });
+    }
+}
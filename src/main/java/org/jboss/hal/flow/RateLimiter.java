@@ -0,0 +1,229 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import elemental2.dom.EventListener;
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+import static org.jboss.hal.flow.Timers.now;
+import static org.jboss.hal.flow.Timers.setTimeout;
+
+/**
+ * A token bucket which limits the rate at which {@linkplain RateLimitedTask tasks} are started.
+ * <p>
+ * The bucket holds up to {@code burst} tokens and is refilled with {@code rate} tokens per second. Each task takes one token before it is started. If the bucket is empty, the task waits until a token is available. Waiting tasks are started in the order they arrived. Tasks which are cancelled while waiting leave the queue right away without taking a token.
+ * <p>
+ * Rate limiters are registered by name, so that all flows using the same name share the same bucket.
+ */
+public class RateLimiter {
+
+    /**
+     * By default, ten tasks per second are started.
+     */
+    public static final double DEFAULT_RATE = 10;
+
+    /**
+     * By default, up to ten tasks are started at once.
+     */
+    public static final int DEFAULT_BURST = 10;
+
+    private static final Map<String, RateLimiter> rateLimiters = new HashMap<>();
+
+    /**
+     * Returns the rate limiter with the given name. If there's no such rate limiter, a new one is created using {@value #DEFAULT_RATE} tasks per second and a burst of {@value #DEFAULT_BURST} tasks. An existing rate limiter is returned as is, regardless of its configuration.
+     */
+    public static RateLimiter rateLimiter(final String name) {
+        return rateLimiters.computeIfAbsent(name, n -> new RateLimiter(n, DEFAULT_RATE, DEFAULT_BURST));
+    }
+
+    /**
+     * Returns the rate limiter with the given name. If there's no such rate limiter, a new one is created using the given rate and burst.
+     *
+     * @param name  the name of the rate limiter
+     * @param rate  the number of tasks started per second
+     * @param burst the maximal number of tasks started at once
+     * @throws IllegalArgumentException if a rate limiter with the given name already exists, but uses a different rate or burst
+     */
+    public static RateLimiter rateLimiter(final String name, final double rate, final int burst) {
+        RateLimiter rateLimiter = rateLimiters.computeIfAbsent(name, n -> new RateLimiter(n, rate, burst));
+        if (rateLimiter.rate != rate || rateLimiter.burst != Math.max(1, burst)) {
+            throw new IllegalArgumentException("Rate limiter " + name + " already registered with rate " +
+                    rateLimiter.rate + " and burst " + rateLimiter.burst);
+        }
+        return rateLimiter;
+    }
+
+    private final String name;
+    private final double rate;
+    private final int burst;
+    private final Deque<Waiting> queue;
+    private double tokens;
+    private long lastRefill;
+    private boolean scheduled;
+    private int acquired;
+    private long totalWait;
+    private long maxWait;
+
+    private RateLimiter(final String name, final double rate, final int burst) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + rate);
+        }
+        this.name = name;
+        this.rate = rate;
+        this.burst = Math.max(1, burst);
+        this.queue = new ArrayDeque<>();
+        this.tokens = this.burst;
+        this.lastRefill = now();
+        this.scheduled = false;
+        this.acquired = 0;
+        this.totalWait = 0;
+        this.maxWait = 0;
+    }
+
+    // ------------------------------------------------------ tokens
+
+    /**
+     * Returns a promise which resolves as soon as a token has been taken from the bucket. If there's no token available right now, the {@linkplain Scheduler scheduler} slot of the cancellation is given back while waiting. If the cancellation is cancelled while waiting, the promise is rejected with the cancel reason and no token is taken.
+     */
+    Promise<Void> acquire(final Cancellation cancellation) {
+        if (cancellation.cancelled()) {
+            return Promise.reject(cancellation.reason());
+        }
+        refill();
+        if (queue.isEmpty() && tokens >= 1) {
+            tokens--;
+            record(0);
+            return Promise.resolve((Void) null);
+        }
+        cancellation.releaseSlot();
+        return new Promise<Void>((resolve, reject) -> {
+            Waiting waiting = new Waiting(resolve, reject, cancellation, now());
+            waiting.listener = __ -> {
+                if (queue.remove(waiting)) {
+                    waiting.reject.onInvoke(cancellation.reason());
+                }
+            };
+            cancellation.signal().addEventListener("abort", waiting.listener);
+            queue.add(waiting);
+            schedule();
+        });
+    }
+
+    private void schedule() {
+        if (!scheduled && !queue.isEmpty()) {
+            scheduled = true;
+            long wait = (long) Math.ceil(Math.max(0, 1 - tokens) / rate * 1_000);
+            setTimeout(() -> {
+                scheduled = false;
+                drain();
+            }, wait);
+        }
+    }
+
+    private void drain() {
+        refill();
+        long now = now();
+        while (!queue.isEmpty() && tokens >= 1) {
+            tokens--;
+            Waiting waiting = queue.poll();
+            waiting.cancellation.signal().removeEventListener("abort", waiting.listener);
+            record(now - waiting.since);
+            waiting.resolve.onInvoke((Void) null);
+        }
+        schedule();
+    }
+
+    private void refill() {
+        long now = now();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * rate / 1_000);
+        lastRefill = now;
+    }
+
+    private void record(long wait) {
+        acquired++;
+        totalWait += wait;
+        maxWait = Math.max(maxWait, wait);
+    }
+
+    // ------------------------------------------------------ info
+
+    /**
+     * @return the name of this rate limiter
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the number of tasks waiting for a token
+     */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of tokens taken from the bucket
+     */
+    public int acquired() {
+        return acquired;
+    }
+
+    /**
+     * @return the average time in milliseconds tasks waited for a token
+     */
+    public double averageWait() {
+        return acquired == 0 ? 0 : (double) totalWait / acquired;
+    }
+
+    /**
+     * @return the maximal time in milliseconds a task waited for a token
+     */
+    public long maxWait() {
+        return maxWait;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter {name: " + name + ", rate: " + rate + ", burst: " + burst + ", queueDepth: " +
+                queue.size() + ", acquired: " + acquired + ", maxWait: " + maxWait + '}';
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    private static class Waiting {
+
+        final ResolveCallbackFn<Void> resolve;
+        final RejectCallbackFn reject;
+        final Cancellation cancellation;
+        final long since;
+        EventListener listener;
+
+        Waiting(final ResolveCallbackFn<Void> resolve, final RejectCallbackFn reject,
+                final Cancellation cancellation, final long since) {
+            this.resolve = resolve;
+            this.reject = reject;
+            this.cancellation = cancellation;
+            this.since = since;
+        }
+    }
+}
@@ -19,6 +19,11 @@ public interface Repeat<C extends FlowContext> extends Promisable<C>, Subscripti
      */
     long DEFAULT_INTERVAL = 1_000;
 
+    /**
+     * By default, the iterations are started at a {@linkplain Schedule#FIXED_RATE fixed rate}.
+     */
+    Schedule DEFAULT_SCHEDULE = Schedule.FIXED_RATE;
+
     /**
      * By default, the timeout for the loop is 10 seconds.
      */
@@ -37,6 +42,8 @@ public interface Repeat<C extends FlowContext> extends Promisable<C>, Subscripti
     /**
      * Whether the execution of the {@linkplain Task task} should fail fast or fail last. Defaults to
      * {@value Repeat#DEFAULT_FAIL_FAST}.
+     * <p>
+     * Regardless of this setting, the loop is cancelled if the task fails because of an open {@linkplain CircuitBreaker circuit breaker}.
      */
     Repeat<C> failFast(boolean failFast);
 
@@ -46,7 +53,17 @@ public interface Repeat<C extends FlowContext> extends Promisable<C>, Subscripti
     Repeat<C> interval(long interval);
 
     /**
-     * The timeout in milliseconds for the while loop. Defaults to {@value Repeat#DEFAULT_TIMEOUT} milliseconds.
+     * How the iterations are scheduled. Defaults to {@link Schedule#FIXED_RATE}.
+     */
+    Repeat<C> schedule(Schedule schedule);
+
+    /**
+     * The backoff policy used to calculate the delay between the iterations. If set, the policy takes precedence over the {@linkplain #interval(long) interval} and the iterations are scheduled with a {@linkplain Schedule#FIXED_DELAY fixed delay}. Defaults to no backoff.
+     */
+    Repeat<C> backoff(Backoff backoff);
+
+    /**
+     * The timeout in milliseconds for the while loop. Defaults to {@value Repeat#DEFAULT_TIMEOUT} milliseconds. If the flow is nested inside another flow, the timeout is limited to the time remaining until the {@linkplain FlowContext#deadline() deadline} of the outer flow.
      */
     Repeat<C> timeout(long timeout);
 
@@ -54,4 +71,9 @@ public interface Repeat<C extends FlowContext> extends Promisable<C>, Subscripti
      * The maximal number of iterations of the loop. Defaults to an infinite loop ({@value Repeat#DEFAULT_ITERATIONS}).
      */
     Repeat<C> iterations(int iterations);
+
+    /**
+     * The priority used by the {@linkplain Scheduler scheduler} to decide which pending task is started next. Defaults to {@link Priority#NORMAL}. Has no effect if the scheduler is not enabled.
+     */
+    Repeat<C> priority(Priority priority);
 }
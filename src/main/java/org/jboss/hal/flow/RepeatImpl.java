@@ -21,10 +21,10 @@ import elemental2.promise.Promise;
 import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
 import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
 
-import static elemental2.dom.DomGlobal.clearInterval;
-import static elemental2.dom.DomGlobal.clearTimeout;
-import static elemental2.dom.DomGlobal.setInterval;
-import static elemental2.dom.DomGlobal.setTimeout;
+import static org.jboss.hal.flow.Timers.clearInterval;
+import static org.jboss.hal.flow.Timers.clearTimeout;
+import static org.jboss.hal.flow.Timers.setInterval;
+import static org.jboss.hal.flow.Timers.setTimeout;
 
 class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<C> {
 
@@ -32,12 +32,17 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
     private Predicate<C> predicate;
     private boolean failFast;
     private long interval;
-    private long timeout;
+    private Schedule schedule;
+    private Backoff backoff;
     private int iterations;
     private int index;
+    private int attempt;
+    private long delay;
     private String lastFailure;
     private double timeoutHandle;
     private double intervalHandle;
+    private boolean running;
+    private boolean settled;
 
     RepeatImpl(final C context, final Task<C> task) {
         super(context, 1);
@@ -45,12 +50,18 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
         this.predicate = __ -> true;
         this.failFast = DEFAULT_FAIL_FAST;
         this.interval = DEFAULT_INTERVAL;
+        this.schedule = DEFAULT_SCHEDULE;
+        this.backoff = null;
         this.timeout = DEFAULT_TIMEOUT;
         this.iterations = DEFAULT_ITERATIONS;
         this.index = 0;
+        this.attempt = 0;
+        this.delay = 0;
         this.lastFailure = null;
         this.timeoutHandle = 0;
         this.intervalHandle = 0;
+        this.running = false;
+        this.settled = false;
     }
 
     // ------------------------------------------------------ repeat API
@@ -73,6 +84,18 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
         return this;
     }
 
+    @Override
+    public Repeat<C> schedule(final Schedule schedule) {
+        this.schedule = schedule;
+        return this;
+    }
+
+    @Override
+    public Repeat<C> backoff(final Backoff backoff) {
+        this.backoff = backoff;
+        return this;
+    }
+
     @Override
     public Repeat<C> timeout(final long timeout) {
         this.timeout = timeout;
@@ -85,42 +108,90 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
         return this;
     }
 
+    @Override
+    public Repeat<C> priority(final Priority priority) {
+        this.priority = priority;
+        return this;
+    }
+
     // ------------------------------------------------------ run
 
     @Override
     Promise<C> run() {
         return new Promise<>((resolve, reject) -> {
-            timeoutHandle = setTimeout(__ -> cancel(reject, TIMEOUT_ERROR), timeout);
+            long budget = remaining();
+            if (budget >= 0) {
+                timeoutHandle = setTimeout(() -> cancel(reject, TIMEOUT_ERROR), budget);
+            }
             if (!predicate.test(context)) {
                 finish(resolve, context);
+            } else {
+                until(resolve, reject);
             }
-            until(resolve, reject);
         });
     }
 
     private void until(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
-        intervalHandle = setInterval(__ -> {
-            if (failFast && lastFailure != null) {
-                cancel(reject, lastFailure);
-            } else {
-                task.apply(context)
-                        .then(c -> {
-                            index++;
-                            c.progress.tick();
-                            if (areWeDone(c)) {
-                                finish(resolve, c);
-                            }
-                            return null;
-                        })
-                        .catch_(error -> {
-                            lastFailure = String.valueOf(error);
-                            if (failFast) {
-                                cancel(reject, lastFailure);
-                            }
-                            return null;
-                        });
-            }
-        }, interval);
+        if (delayed()) {
+            next(resolve, reject);
+        } else if (schedule == Schedule.SKIP_OVERLAPPING) {
+            intervalHandle = setInterval(() -> {
+                if (!running) {
+                    iterate(resolve, reject);
+                }
+            }, interval);
+        } else {
+            intervalHandle = setInterval(() -> iterate(resolve, reject), interval);
+        }
+    }
+
+    private void iterate(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        if (failFast && lastFailure != null) {
+            cancel(reject, lastFailure);
+        } else if (cancelled()) {
+            cancel(reject, cancelReason());
+        } else if (remaining() == 0) {
+            cancel(reject, TIMEOUT_ERROR);
+        } else {
+            running = true;
+            execute(task)
+                    .then(c -> {
+                        running = false;
+                        index++;
+                        if (backoff != null && backoff.resetOnSuccess()) {
+                            // decorrelated jitter grows from the previous delay, so reset it as well
+                            attempt = 0;
+                            delay = 0;
+                        } else {
+                            attempt++;
+                        }
+                        c.progress.tick();
+                        if (areWeDone(c)) {
+                            finish(resolve, c);
+                        } else {
+                            next(resolve, reject);
+                        }
+                        return null;
+                    })
+                    .catch_(error -> {
+                        running = false;
+                        attempt++;
+                        lastFailure = String.valueOf(error);
+                        if (failFast || FlowContext.circuitOpen(error)) {
+                            cancel(reject, lastFailure);
+                        } else {
+                            next(resolve, reject);
+                        }
+                        return null;
+                    });
+        }
+    }
+
+    private void next(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        if (!settled && delayed()) {
+            delay = backoff != null ? backoff.delay(attempt, delay) : interval;
+            intervalHandle = setTimeout(() -> iterate(resolve, reject), delay);
+        }
     }
 
     // ------------------------------------------------------ helper methods
@@ -133,19 +204,33 @@ class RepeatImpl<C extends FlowContext> extends FlowRunner<C> implements Repeat<
         }
     }
 
+    private boolean delayed() {
+        return backoff != null || schedule == Schedule.FIXED_DELAY;
+    }
+
     private void finish(ResolveCallbackFn<C> resolve, C context) {
-        cleanup();
-        context.progress.finish();
-        resolve.onInvoke(context);
+        if (!settled) {
+            cleanup();
+            context.progress.finish();
+            resolve.onInvoke(context);
+        }
     }
 
-    private void cancel(RejectCallbackFn reject, String reason) {
-        cleanup();
-        reject.onInvoke(reason);
+    private void cancel(RejectCallbackFn reject, Object reason) {
+        if (!settled) {
+            cleanup();
+            cancel(reason);
+            reject.onInvoke(reason);
+        }
     }
 
     private void cleanup() {
-        clearInterval(intervalHandle);
+        settled = true;
+        if (delayed()) {
+            clearTimeout(intervalHandle);
+        } else {
+            clearInterval(intervalHandle);
+        }
         clearTimeout(timeoutHandle);
     }
 }
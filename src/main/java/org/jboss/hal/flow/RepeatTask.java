@@ -21,6 +21,7 @@ public class RepeatTask<C extends FlowContext> implements Task<C> {
     private final Predicate<C> predicate;
     private final boolean failFast;
     private final long interval;
+    private final Backoff backoff;
     private final long timeout;
     private final int iterations;
 
@@ -56,10 +57,52 @@ public class RepeatTask<C extends FlowContext> implements Task<C> {
      */
     public RepeatTask(final C context, final Task<C> task, Predicate<C> predicate,
             final boolean failFast, final long interval, final long timeout, final int iterations) {
+        this(context, task, predicate, failFast, interval, null, timeout, iterations);
+    }
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task tasks} as long as the given {@linkplain Predicate predicate} evaluates to {@code true} using a {@linkplain Backoff backoff policy} to calculate the delay between the iterations.
+     * <p>
+     * The task re-uses the {@linkplain FlowContext context} from the outer call to {@link Flow#parallel(FlowContext, List)}, {@link Flow#sequential(FlowContext, List)} or {@link Flow#repeat(FlowContext, Task)}.
+     *
+     * @param task       the task to execute while the predicate evaluates to {@code true}
+     * @param predicate  the predicate used to decide whether to continue or break the loop
+     * @param failFast   whether the execution of the list should fail fast or fail last
+     * @param backoff    the backoff policy used to calculate the delay between the iterations
+     * @param timeout    the timeout for the while loop
+     * @param iterations the maximal iterations the loop
+     */
+    public RepeatTask(final Task<C> task, Predicate<C> predicate,
+            final boolean failFast, final Backoff backoff, final long timeout, final int iterations) {
+        this(null, task, predicate, failFast, Repeat.DEFAULT_INTERVAL, backoff, timeout, iterations);
+    }
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task tasks} as long as the given {@linkplain Predicate predicate} evaluates to {@code true} using a {@linkplain Backoff backoff policy} to calculate the delay between the iterations.
+     * <p>
+     * The task uses the given {@linkplain FlowContext context} for the execution of the {@linkplain Task task}.
+     *
+     * @param context    the context shared between the iterations
+     * @param task       the task to execute while the predicate evaluates to {@code true}
+     * @param predicate  the predicate used to decide whether to continue or break the loop
+     * @param failFast   whether the execution of the list should fail fast or fail last
+     * @param backoff    the backoff policy used to calculate the delay between the iterations
+     * @param timeout    the timeout for the while loop
+     * @param iterations the maximal iterations the loop
+     */
+    public RepeatTask(final C context, final Task<C> task, Predicate<C> predicate,
+            final boolean failFast, final Backoff backoff, final long timeout, final int iterations) {
+        this(context, task, predicate, failFast, Repeat.DEFAULT_INTERVAL, backoff, timeout, iterations);
+    }
+
+    private RepeatTask(final C context, final Task<C> task, Predicate<C> predicate,
+            final boolean failFast, final long interval, final Backoff backoff, final long timeout,
+            final int iterations) {
         this.context = context;
         this.task = task;
         this.predicate = predicate;
         this.interval = interval;
+        this.backoff = backoff;
         this.timeout = timeout;
         this.failFast = failFast;
         this.iterations = iterations;
@@ -68,12 +111,13 @@ public class RepeatTask<C extends FlowContext> implements Task<C> {
     @Override
     public Promise<C> apply(final C context) {
         C contextToUse = this.context != null ? this.context : context;
-        return repeat(contextToUse, task)
+        return contextToUse.nestIn(context, () -> repeat(contextToUse, task)
                 .while_(predicate)
                 .failFast(failFast)
                 .interval(interval)
+                .backoff(backoff)
                 .timeout(timeout)
                 .iterations(iterations)
-                .promise();
+                .promise());
     }
 }
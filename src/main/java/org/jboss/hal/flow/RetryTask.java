@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import elemental2.promise.Promise;
+
+import static org.jboss.hal.flow.Timers.setTimeout;
+
+/**
+ * A task implementation that retries a failed {@linkplain Task task} using a {@linkplain Backoff backoff policy}.
+ * <p>
+ * This implementation makes it easy to recover from transient failures inside a call to {@link Flow#parallel(FlowContext, List)}, {@link Flow#sequential(FlowContext, List)} or {@link Flow#repeat(FlowContext, Task)} without re-executing the tasks which already succeeded.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ */
+public class RetryTask<C extends FlowContext> implements Task<C> {
+
+    /**
+     * By default, a failed task is retried after one second.
+     */
+    public static final long DEFAULT_DELAY = 1_000;
+
+    private final Task<C> task;
+    private final int attempts;
+    private final Backoff backoff;
+    private final Predicate<Object> retryIf;
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task task} at most {@code attempts} times. Failed attempts are retried after {@value #DEFAULT_DELAY} milliseconds.
+     *
+     * @param task     the task to execute
+     * @param attempts the maximal number of attempts including the first one
+     */
+    public RetryTask(final Task<C> task, final int attempts) {
+        this(task, attempts, Backoff.constant(DEFAULT_DELAY), __ -> true);
+    }
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task task} at most {@code attempts} times using the given {@linkplain Backoff backoff policy} to calculate the delay between the attempts.
+     *
+     * @param task     the task to execute
+     * @param attempts the maximal number of attempts including the first one
+     * @param backoff  the backoff policy used to calculate the delay between the attempts
+     */
+    public RetryTask(final Task<C> task, final int attempts, final Backoff backoff) {
+        this(task, attempts, backoff, __ -> true);
+    }
+
+    /**
+     * Creates a new task that executes the given {@linkplain Task task} at most {@code attempts} times using the given {@linkplain Backoff backoff policy} to calculate the delay between the attempts. A failed attempt is only retried if the given {@linkplain Predicate predicate} evaluates to {@code true} for the error.
+     *
+     * @param task     the task to execute
+     * @param attempts the maximal number of attempts including the first one
+     * @param backoff  the backoff policy used to calculate the delay between the attempts
+     * @param retryIf  the predicate used to decide whether an error should be retried
+     */
+    public RetryTask(final Task<C> task, final int attempts, final Backoff backoff, final Predicate<Object> retryIf) {
+        this.task = task;
+        this.attempts = attempts;
+        this.backoff = backoff;
+        this.retryIf = retryIf;
+    }
+
+    @Override
+    public Promise<C> apply(final C context) {
+        // retries are started later, so capture the signal which is current now
+        return attempt(context, context.cancellation(), 1, 0);
+    }
+
+    private Promise<C> attempt(final C context, final Cancellation cancellation, final int attempt,
+            final long previousDelay) {
+        return context.scoped(cancellation, () -> task.apply(context)).catch_(error -> {
+            if (attempt < attempts && !cancellation.cancelled() && retryIf.test(error)) {
+                long delay = backoff.delay(attempt - 1, previousDelay);
+                return new Promise<C>((resolve, reject) -> setTimeout(() -> {
+                    if (cancellation.cancelled()) {
+                        reject.onInvoke(cancellation.reason());
+                    } else {
+                        resolve.onInvoke(attempt(context, cancellation, attempt + 1, delay));
+                    }
+                }, delay));
+            } else {
+                return Promise.reject(error);
+            }
+        });
+    }
+}
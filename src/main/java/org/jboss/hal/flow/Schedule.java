@@ -0,0 +1,37 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+/**
+ * Enum for the scheduling of the iterations of a {@linkplain Flow#repeat(FlowContext, Task) repeated} execution.
+ */
+public enum Schedule {
+
+    /**
+     * The iterations are started at a fixed rate, regardless of whether the previous iteration has finished. Iterations overlap if the task takes longer than the interval.
+     */
+    FIXED_RATE,
+
+    /**
+     * The iterations are started at a fixed rate, but ticks are skipped as long as the previous iteration is still running.
+     */
+    SKIP_OVERLAPPING,
+
+    /**
+     * The next iteration is started after the previous iteration has finished and the interval has elapsed. Iterations never overlap.
+     */
+    FIXED_DELAY
+}
@@ -0,0 +1,238 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import elemental2.promise.Promise;
+import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
+
+import static org.jboss.hal.flow.Timers.now;
+
+/**
+ * An optional, process-wide scheduler which decides which pending {@linkplain Task task} of all flows is started next.
+ * <p>
+ * If the scheduler is {@linkplain #enable(int, long) enabled}, at most {@code maxConcurrency} tasks run at the same time. Pending tasks are started according to their {@linkplain Priority priority}. To prevent starvation, a pending task is promoted by one priority class for each {@code aging} milliseconds it waits.
+ * <p>
+ * Nested flows like {@link ParallelTasks}, {@link SequentialTasks} and {@link RepeatTask} don't take a slot themselves. Only their tasks are scheduled. If a scheduled task starts a nested flow, e.g. a lambda calling {@code Flow.parallel(...).promise()} or a {@link RetryTask} wrapping a {@link SequentialTasks}, the task gives up its slot, so that the tasks of the nested flow can be started. The same applies to tasks waiting for a {@linkplain RateLimitedTask rate limiter} or in the queue of a {@linkplain BulkheadTask bulkhead}.
+ */
+public final class Scheduler {
+
+    /**
+     * By default, six tasks run at the same time, which matches the connection limit of most browsers.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 6;
+
+    /**
+     * By default, pending tasks are promoted by one priority class every two seconds.
+     */
+    public static final long DEFAULT_AGING = 2_000;
+
+    private static Scheduler scheduler = null;
+
+    /**
+     * Enables the scheduler using {@value #DEFAULT_MAX_CONCURRENCY} as max concurrency and {@value #DEFAULT_AGING} milliseconds as aging.
+     */
+    public static Scheduler enable() {
+        return enable(DEFAULT_MAX_CONCURRENCY, DEFAULT_AGING);
+    }
+
+    /**
+     * Enables the scheduler. If the scheduler is already enabled, it is replaced. Tasks pending in the replaced scheduler are still started by the replaced scheduler.
+     *
+     * @param maxConcurrency the maximal number of tasks running at the same time
+     * @param aging          the time in milliseconds after which a pending task is promoted by one priority class
+     */
+    public static Scheduler enable(final int maxConcurrency, final long aging) {
+        scheduler = new Scheduler(maxConcurrency, aging);
+        return scheduler;
+    }
+
+    /**
+     * Disables the scheduler. Tasks started afterwards are started immediately.
+     */
+    public static void disable() {
+        scheduler = null;
+    }
+
+    /**
+     * @return the scheduler or {@code null} if the scheduler is not enabled
+     */
+    public static Scheduler scheduler() {
+        return scheduler;
+    }
+
+    private final int maxConcurrency;
+    private final long aging;
+    private final Map<Priority, Deque<Pending<?>>> queues;
+    private int running;
+
+    private Scheduler(final int maxConcurrency, final long aging) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.aging = aging;
+        this.queues = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+        this.running = 0;
+    }
+
+    // ------------------------------------------------------ scheduling
+
+    /**
+     * Submits a task which is started as soon as a slot is available. The task gets its slot and can {@linkplain Slot#release() release} it before it has finished, e.g. when it waits for a nested flow.
+     */
+    <T> Promise<T> submit(final Priority priority, final Function<Slot, Promise<T>> start) {
+        return new Promise<T>((resolve, reject) -> {
+            queues.get(priority).add(new Pending<>(start, resolve, now()));
+            drain();
+        });
+    }
+
+    private void drain() {
+        while (running < maxConcurrency) {
+            Deque<Pending<?>> queue = next();
+            if (queue == null) {
+                break;
+            }
+            run(queue.poll());
+        }
+    }
+
+    private <T> void run(Pending<T> pending) {
+        Slot slot = new Slot(this);
+        running++;
+        Promise<T> promise;
+        try {
+            promise = pending.start.apply(slot);
+        } catch (Throwable t) {
+            slot.release();
+            pending.resolve.onInvoke(Promise.reject(t));
+            return;
+        }
+        promise.then(__ -> {
+            slot.release();
+            return null;
+        }, __ -> {
+            slot.release();
+            return null;
+        });
+        pending.resolve.onInvoke(promise);
+    }
+
+    private void release() {
+        running--;
+        drain();
+    }
+
+    /**
+     * Returns the queue whose head has the best effective priority, i.e. the priority class minus the number of aging periods the task has been waiting. Ties are resolved in favour of the task waiting longest.
+     */
+    private Deque<Pending<?>> next() {
+        long now = now();
+        Deque<Pending<?>> best = null;
+        double bestRank = Double.MAX_VALUE;
+        long bestSince = Long.MAX_VALUE;
+        for (Map.Entry<Priority, Deque<Pending<?>>> entry : queues.entrySet()) {
+            Pending<?> head = entry.getValue().peek();
+            if (head != null) {
+                double rank = entry.getKey().ordinal() - (aging > 0 ? (double) (now - head.since) / aging : 0);
+                if (rank < bestRank || (rank == bestRank && head.since < bestSince)) {
+                    best = entry.getValue();
+                    bestRank = rank;
+                    bestSince = head.since;
+                }
+            }
+        }
+        return best;
+    }
+
+    // ------------------------------------------------------ info
+
+    /**
+     * @return the number of running tasks
+     */
+    public int running() {
+        return running;
+    }
+
+    /**
+     * @return the number of pending tasks
+     */
+    public int pending() {
+        int pending = 0;
+        for (Deque<Pending<?>> queue : queues.values()) {
+            pending += queue.size();
+        }
+        return pending;
+    }
+
+    /**
+     * @return the number of pending tasks with the given priority
+     */
+    public int pending(final Priority priority) {
+        return queues.get(priority).size();
+    }
+
+    @Override
+    public String toString() {
+        return "Scheduler {maxConcurrency: " + maxConcurrency + ", running: " + running + ", pending: " + pending() +
+                '}';
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    /**
+     * The slot taken by a running task.
+     */
+    static class Slot {
+
+        private final Scheduler scheduler;
+        private boolean released;
+
+        private Slot(final Scheduler scheduler) {
+            this.scheduler = scheduler;
+            this.released = false;
+        }
+
+        /**
+         * Gives the slot back to the scheduler, so that the next pending task can be started. Releasing a slot more than once has no effect.
+         */
+        void release() {
+            if (!released) {
+                released = true;
+                scheduler.release();
+            }
+        }
+    }
+
+    private static class Pending<T> {
+
+        final Function<Slot, Promise<T>> start;
+        final ResolveCallbackFn<T> resolve;
+        final long since;
+
+        Pending(final Function<Slot, Promise<T>> start, final ResolveCallbackFn<T> resolve, final long since) {
+            this.start = start;
+            this.resolve = resolve;
+            this.since = since;
+        }
+    }
+}
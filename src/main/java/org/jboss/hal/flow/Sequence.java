@@ -19,6 +19,16 @@ public interface Sequence<C extends FlowContext> extends Promisable<C>, Subscrip
      */
     long DEFAULT_TIMEOUT = -1;
 
+    /**
+     * By default, the number of {@linkplain Task tasks} executed at the same time is not limited.
+     */
+    int DEFAULT_MAX_CONCURRENCY = -1;
+
+    /**
+     * By default, no timeout is used for the individual {@linkplain Task tasks}.
+     */
+    long DEFAULT_TASK_TIMEOUT = -1;
+
     /**
      * Whether the execution of {@linkplain Task tasks} should fail fast or fail last. Defaults to {@value DEFAULT_FAIL_FAST}.
      */
@@ -27,7 +37,45 @@ public interface Sequence<C extends FlowContext> extends Promisable<C>, Subscrip
     /**
      * The timeout in milliseconds for the sequence. Defaults to no timeout ({@value #DEFAULT_TIMEOUT}).
      * <p>
-     * Please note that this only applies to sequential flows. The timeout has no effect for parallel flows. The promise API does not provide a method to cancel running promises.
+     * If the flow is nested inside another flow, the timeout is limited to the time remaining until the {@linkplain FlowContext#deadline() deadline} of the outer flow.
+     * <p>
+     * When the timeout is reached, tasks which have not yet been started are skipped and the {@linkplain FlowContext#signal() signal} of the context is aborted. The promise API does not provide a method to cancel running promises, so running tasks need to listen to the signal to stop their work.
      */
     Sequence<C> timeout(long timeout);
+
+    /**
+     * The timeout in milliseconds for each {@linkplain Task task} of the sequence. Defaults to no timeout ({@value #DEFAULT_TASK_TIMEOUT}).
+     * <p>
+     * A task which has not finished within its timeout fails with an error which can be checked using {@link FlowContext#taskTimeout(Object)} and its {@linkplain FlowContext#signal() signal} is aborted. If the execution fails last, the remaining tasks are executed as usual. To use a timeout for single tasks only, wrap them in a {@link TimeoutTask}.
+     */
+    Sequence<C> taskTimeout(long taskTimeout);
+
+    /**
+     * The maximal number of {@linkplain Task tasks} which are executed at the same time. Defaults to no limit ({@value #DEFAULT_MAX_CONCURRENCY}).
+     * <p>
+     * Please note that this only applies to parallel flows. As soon as a task has finished, the next task is started. If the execution fails fast, no new tasks are started after the first failure.
+     */
+    Sequence<C> maxConcurrency(int maxConcurrency);
+
+    /**
+     * Uses an {@linkplain AdaptiveLimit adaptive limit} for the number of {@linkplain Task tasks} which are executed at the same time. The limit is raised as long as the execution times stay flat and cut if they grow or tasks fail. Takes precedence over {@link #maxConcurrency(int)}.
+     * <p>
+     * Please note that this only applies to parallel flows.
+     */
+    Sequence<C> maxConcurrency(AdaptiveLimit adaptiveLimit);
+
+    /**
+     * The priority used by the {@linkplain Scheduler scheduler} to decide which pending task is started next. Defaults to {@link Priority#NORMAL}. Has no effect if the scheduler is not enabled.
+     */
+    Sequence<C> priority(Priority priority);
+
+    /**
+     * Subscribes to the outcome of each {@linkplain Task task} and to the outcome of the execution of all tasks.
+     * <p>
+     * The task callback is called as soon as a task has finished, so that results can be processed progressively. Errors are handled like in {@link #subscribe(FlowCallback)}.
+     *
+     * @param onEach     the callback for the outcome of each task
+     * @param onComplete the callback for the outcome of the execution of all tasks
+     */
+    void subscribe(TaskCallback onEach, FlowCallback<C> onComplete);
 }
@@ -15,6 +15,7 @@
  */
 package org.jboss.hal.flow;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -22,33 +23,49 @@ import elemental2.promise.Promise;
 import elemental2.promise.Promise.PromiseExecutorCallbackFn.RejectCallbackFn;
 import elemental2.promise.Promise.PromiseExecutorCallbackFn.ResolveCallbackFn;
 
-import static elemental2.dom.DomGlobal.clearTimeout;
-import static elemental2.dom.DomGlobal.setTimeout;
+import static org.jboss.hal.flow.Timers.clearTimeout;
+import static org.jboss.hal.flow.Timers.now;
+import static org.jboss.hal.flow.Timers.setTimeout;
 
 class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Sequence<C> {
 
     enum Mode {
-        PARALLEL, SEQUENTIAL
+        PARALLEL, SEQUENTIAL, RACE, ANY
     }
 
 
     private final Mode mode;
-    private final List<Task<C>> tasks;
     private final Iterator<Task<C>> iterator;
     private boolean failFast;
-    private long timeout;
+    private long taskTimeout;
+    private int maxConcurrency;
+    private AdaptiveLimit adaptiveLimit;
     private double timeoutHandle;
     private boolean timedOut;
+    private boolean failed;
+    private int running;
+    private int index;
+    private TaskCallback onEach;
 
     SequenceImpl(final Mode mode, final C context, final List<Task<C>> tasks) {
-        super(context, tasks.size());
+        this(mode, context, tasks.iterator(), tasks.size());
+    }
+
+    SequenceImpl(final Mode mode, final C context, final Iterator<Task<C>> iterator, final int expected) {
+        super(context, expected);
         this.mode = mode;
-        this.tasks = tasks;
-        this.iterator = tasks.iterator();
+        this.iterator = iterator;
         this.failFast = DEFAULT_FAIL_FAST;
         this.timeout = DEFAULT_TIMEOUT;
+        this.taskTimeout = DEFAULT_TASK_TIMEOUT;
+        this.maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        this.adaptiveLimit = null;
         this.timeoutHandle = 0;
         this.timedOut = false;
+        this.failed = false;
+        this.running = 0;
+        this.index = 0;
+        this.onEach = null;
     }
 
     // ------------------------------------------------------ sequence API
@@ -65,11 +82,43 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
         return this;
     }
 
+    @Override
+    public Sequence<C> taskTimeout(final long taskTimeout) {
+        this.taskTimeout = taskTimeout;
+        return this;
+    }
+
+    @Override
+    public Sequence<C> maxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public Sequence<C> maxConcurrency(final AdaptiveLimit adaptiveLimit) {
+        this.adaptiveLimit = adaptiveLimit;
+        return this;
+    }
+
+    @Override
+    public Sequence<C> priority(final Priority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    // ------------------------------------------------------ subscription API
+
+    @Override
+    public void subscribe(final TaskCallback onEach, final FlowCallback<C> onComplete) {
+        this.onEach = onEach;
+        subscribe(onComplete);
+    }
+
     // ------------------------------------------------------ run
 
     @Override
     Promise<C> run() {
-        if (tasks.isEmpty()) {
+        if (!iterator.hasNext()) {
             return Promise.resolve(context);
         } else {
             switch (mode) {
@@ -77,6 +126,10 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
                     return parallel();
                 case SEQUENTIAL:
                     return sequential();
+                case RACE:
+                    return race(false);
+                case ANY:
+                    return race(true);
                 default:
                     throw new IllegalStateException("Unexpected flow execution mode: " + mode);
             }
@@ -85,24 +138,84 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
 
     // ------------------------------------------------------ run parallel
 
-    @SuppressWarnings("unchecked")
     private Promise<C> parallel() {
-        Promise<C>[] promises = tasks.stream()
-                .map(task -> task.apply(context).then(c -> {
+        return new Promise<C>((resolve, reject) -> {
+            long budget = remaining();
+            if (budget >= 0) {
+                timeoutHandle = setTimeout(() -> {
+                    timedOut = true;
+                    fail(reject, TIMEOUT_ERROR);
+                }, budget);
+            }
+            fill(resolve, reject);
+        }).then(c -> {
+            clearTimeout(timeoutHandle);
+            context.progress.finish();
+            return Promise.resolve(context);
+        }).catch_(error -> {
+            clearTimeout(timeoutHandle);
+            return Promise.reject(error);
+        });
+    }
+
+    private void fork(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        int current = index++;
+        long start = now();
+        running++;
+        Task<C> task = iterator.next();
+        execute(task, () -> measured(task))
+                .then(c -> {
+                    running--;
+                    report(current, start, true, c, null);
                     context.progress.tick();
-                    return Promise.resolve(c);
-                }))
-                .toArray(Promise[]::new);
-        if (failFast) {
-            return FlowPromise.all(promises).then(__ -> {
-                context.progress.finish();
-                return Promise.resolve(context);
-            });
+                    join(resolve, reject);
+                    return null;
+                }, error -> {
+                    running--;
+                    report(current, start, false, null, error);
+                    if (failFast) {
+                        fail(reject, error);
+                    } else {
+                        join(resolve, reject);
+                    }
+                    return null;
+                });
+    }
+
+    private void join(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        if (!failed) {
+            if (cancelled()) {
+                fail(reject, cancelReason());
+            } else if (iterator.hasNext()) {
+                fill(resolve, reject);
+            } else if (running == 0) {
+                resolve.onInvoke(context);
+            }
+        }
+    }
+
+    private void fill(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
+        if (remaining() == 0) {
+            timedOut = true;
+            fail(reject, TIMEOUT_ERROR);
+            return;
+        }
+        int limit;
+        if (adaptiveLimit != null) {
+            limit = adaptiveLimit.limit();
         } else {
-            return FlowPromise.allSettled(promises).then(__ -> {
-                context.progress.finish();
-                return Promise.resolve(context);
-            });
+            limit = maxConcurrency > 0 ? maxConcurrency : Integer.MAX_VALUE;
+        }
+        while (!failed && iterator.hasNext() && running < limit) {
+            fork(resolve, reject);
+        }
+    }
+
+    private void fail(RejectCallbackFn reject, Object error) {
+        if (!failed) {
+            failed = true;
+            cancel(error);
+            reject.onInvoke(error);
         }
     }
 
@@ -110,24 +223,39 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
 
     private Promise<C> sequential() {
         return new Promise<C>((resolve, reject) -> {
-            if (timeout > 0) {
-                timeoutHandle = setTimeout(__ -> rejectWithTimeout(reject), timeout);
+            long budget = remaining();
+            if (budget >= 0) {
+                timeoutHandle = setTimeout(() -> rejectWithTimeout(reject), budget);
             }
             next(resolve, reject);
         }).then(c -> {
+            clearTimeout(timeoutHandle);
             context.progress.finish();
             return Promise.resolve(context);
-        }).catch_(Promise::reject);
+        }).catch_(error -> {
+            clearTimeout(timeoutHandle);
+            return Promise.reject(error);
+        });
     }
 
     private void next(ResolveCallbackFn<C> resolve, RejectCallbackFn reject) {
         if (timedOut) {
             reject.onInvoke(TIMEOUT_ERROR);
+        } else if (cancelled()) {
+            reject.onInvoke(cancelReason());
+        } else if (remaining() == 0) {
+            rejectWithTimeout(reject);
         } else {
-            iterator.next().apply(context)
+            int current = index++;
+            long start = now();
+            Task<C> task = iterator.next();
+            execute(task, () -> startTask(task))
                     .then(c -> {
+                        report(current, start, true, c, null);
                         if (timedOut) {
                             reject.onInvoke(TIMEOUT_ERROR);
+                        } else if (cancelled()) {
+                            reject.onInvoke(cancelReason());
                         } else {
                             if (iterator.hasNext()) {
                                 c.progress.tick();
@@ -137,9 +265,10 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
                             }
                         }
                         return null;
-                    })
-                    .catch_(error -> {
+                    }, error -> {
+                        report(current, start, false, null, error);
                         if (failFast) {
+                            cancel(error);
                             reject.onInvoke(error);
                         } else {
                             if (iterator.hasNext()) {
@@ -154,11 +283,116 @@ class SequenceImpl<C extends FlowContext> extends FlowRunner<C> implements Seque
         }
     }
 
+    // ------------------------------------------------------ run race
+
+    private Promise<C> race(boolean firstSuccess) {
+        List<Cancellation> cancellations = new ArrayList<>();
+        return new Promise<C>((resolve, reject) -> {
+            long budget = remaining();
+            if (budget >= 0) {
+                timeoutHandle = setTimeout(() -> {
+                    timedOut = true;
+                    fail(reject, TIMEOUT_ERROR);
+                }, budget);
+            }
+            while (iterator.hasNext() && !failed) {
+                Task<C> task = iterator.next();
+                Cancellation taskCancellation = context.fork();
+                cancellations.add(taskCancellation);
+                int current = index++;
+                long start = now();
+                running++;
+                execute(task, () -> {
+                    // the task might have been pending in the scheduler until the race was over
+                    if (taskCancellation.cancelled()) {
+                        return Promise.reject(taskCancellation.reason());
+                    }
+                    taskCancellation.useSlotOf(context.cancellation());
+                    return context.scoped(taskCancellation, () -> startTask(task));
+                })
+                        .then(c -> {
+                            running--;
+                            taskCancellation.detach();
+                            report(current, start, true, c, null);
+                            if (!failed) {
+                                failed = true;
+                                abortOthers(cancellations, taskCancellation);
+                                resolve.onInvoke(context);
+                            }
+                            return null;
+                        }, error -> {
+                            running--;
+                            taskCancellation.detach();
+                            report(current, start, false, null, error);
+                            if (!failed && (!firstSuccess || (running == 0 && !iterator.hasNext()))) {
+                                failed = true;
+                                abortOthers(cancellations, taskCancellation);
+                                reject.onInvoke(error);
+                            }
+                            return null;
+                        });
+            }
+        }).then(c -> {
+            clearTimeout(timeoutHandle);
+            context.progress.finish();
+            return Promise.resolve(context);
+        }).catch_(error -> {
+            clearTimeout(timeoutHandle);
+            return Promise.reject(error);
+        });
+    }
+
+    private void abortOthers(List<Cancellation> cancellations, Cancellation winner) {
+        for (Cancellation other : cancellations) {
+            if (other != winner) {
+                other.cancel(CANCELLED_ERROR);
+            }
+        }
+    }
+
     // ------------------------------------------------------ helper methods
 
+    /**
+     * Starts the task and feeds the {@linkplain AdaptiveLimit adaptive limit} with the execution time measured from the moment the task has actually been started.
+     */
+    private Promise<C> measured(Task<C> task) {
+        if (adaptiveLimit == null) {
+            return startTask(task);
+        }
+        // a cancellation of its own, so that a bulkhead or rate limiter can restart the clock of this task
+        Cancellation taskCancellation = context.fork();
+        taskCancellation.startClock();
+        return context.scoped(taskCancellation, () -> startTask(task)).then(c -> {
+            taskCancellation.detach();
+            adaptiveLimit.success(taskCancellation.elapsed());
+            return Promise.resolve(c);
+        }, error -> {
+            taskCancellation.detach();
+            if (!taskCancellation.cancelled() && !FlowContext.cancelled(error)) {
+                adaptiveLimit.failure();
+            }
+            return Promise.reject(error);
+        });
+    }
+
+    private Promise<C> startTask(Task<C> task) {
+        if (taskTimeout > 0) {
+            return new TimeoutTask<>(task, taskTimeout).apply(context);
+        } else {
+            return task.apply(context);
+        }
+    }
+
+    private void report(int index, long start, boolean successful, Object value, Object error) {
+        if (onEach != null) {
+            onEach.finish(new TaskResult(index, successful, value, error, now() - start));
+        }
+    }
+
     private void rejectWithTimeout(RejectCallbackFn reject) {
         clearTimeout(timeoutHandle);
         timedOut = true;
+        cancel(TIMEOUT_ERROR);
         reject.onInvoke(TIMEOUT_ERROR);
     }
 }
@@ -72,8 +72,8 @@ public class SequentialTasks<C extends FlowContext> implements Task<C> {
     @Override
     public Promise<C> apply(final C context) {
         C contextToUse = this.context != null ? this.context : context;
-        return sequential(contextToUse, tasks)
+        return contextToUse.nestIn(context, () -> sequential(contextToUse, tasks)
                 .failFast(failFast)
-                .promise();
+                .promise());
     }
 }
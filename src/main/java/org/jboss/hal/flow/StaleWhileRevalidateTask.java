@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import elemental2.promise.Promise;
+
+/**
+ * A task implementation that serves the result of an asynchronous operation from a {@linkplain TaskCache cache} even if the cached value has expired.
+ * <p>
+ * If the cached value has expired, the task resolves immediately with the stale value and executes the operation in the background. The refreshed value is stored in the cache and passed to an optional callback. If the key is {@linkplain TaskCache#invalidate(String) invalidated} while the refresh is running, the refreshed value is dropped. Only if the cache contains no value at all, the task waits for the operation. This implementation makes it easy to render results of calls to {@link Flow#parallel(FlowContext, List)} or {@link Flow#sequential(FlowContext, List)} without waiting for the slowest operation.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ * @param <T> the type of the result of the operation
+ */
+public class StaleWhileRevalidateTask<C extends FlowContext, T> implements Task<C> {
+
+    private final TaskCache<T> cache;
+    private final String key;
+    private final Supplier<Promise<T>> operation;
+    private final String contextKey;
+    private final Consumer<T> onRefresh;
+
+    /**
+     * Creates a new task that pushes the cached or fetched result on top of the stack of the {@linkplain FlowContext context}.
+     *
+     * @param cache     the cache used to store the result
+     * @param key       the key used to store the result in the cache
+     * @param operation the asynchronous operation
+     * @param onRefresh the callback for values which have been refreshed in the background, may be {@code null}
+     */
+    public StaleWhileRevalidateTask(final TaskCache<T> cache, final String key, final Supplier<Promise<T>> operation,
+            final Consumer<T> onRefresh) {
+        this(cache, key, operation, null, onRefresh);
+    }
+
+    /**
+     * Creates a new task that stores the cached or fetched result under the given key in the map of the {@linkplain FlowContext context}.
+     *
+     * @param cache      the cache used to store the result
+     * @param key        the key used to store the result in the cache
+     * @param operation  the asynchronous operation
+     * @param contextKey the key used to store the result in the context
+     * @param onRefresh  the callback for values which have been refreshed in the background, may be {@code null}
+     */
+    public StaleWhileRevalidateTask(final TaskCache<T> cache, final String key, final Supplier<Promise<T>> operation,
+            final String contextKey, final Consumer<T> onRefresh) {
+        this.cache = cache;
+        this.key = key;
+        this.operation = operation;
+        this.contextKey = contextKey;
+        this.onRefresh = onRefresh;
+    }
+
+    @Override
+    public Promise<C> apply(final C context) {
+        TaskCache.Entry<T> entry = cache.lookup(key);
+        if (entry == null) {
+            return operation.get().then(result -> {
+                cache.put(key, result);
+                return store(context, result);
+            });
+        } else {
+            if (entry.expired()) {
+                revalidate();
+            }
+            return store(context, entry.value);
+        }
+    }
+
+    private void revalidate() {
+        if (!cache.revalidating.containsKey(key)) {
+            // identifies this refresh, so that a refresh which has been invalidated in the meantime is dropped
+            Object refresh = new Object();
+            cache.revalidating.put(key, refresh);
+            operation.get().then(result -> {
+                if (cache.revalidating.get(key) == refresh) {
+                    cache.revalidating.remove(key);
+                    cache.put(key, result);
+                    if (onRefresh != null) {
+                        onRefresh.accept(result);
+                    }
+                }
+                return null;
+            }, error -> {
+                if (cache.revalidating.get(key) == refresh) {
+                    cache.revalidating.remove(key);
+                }
+                return null;
+            });
+        }
+    }
+
+    private Promise<C> store(final C context, final T value) {
+        return contextKey != null ? context.resolve(contextKey, value) : context.resolve(value);
+    }
+}
@@ -23,6 +23,8 @@ import elemental2.promise.Promise;
  * Task implementations can use {@link FlowContext#resolve()}, {@link FlowContext#resolve(Object)} and {@link FlowContext#resolve(String, Object)} as a shortcut to push or put a value on the stack or the map and return a resolved promise.
  * <p>
  * In case of an error task implementations can use {@link FlowContext#reject(Object)} to return a rejected promise. Rejected promises are caught by the enclosing {@link Flow} methods and returned as a resolved promise.
+ * <p>
+ * If the execution is cancelled because of a timeout or a failure, the {@linkplain FlowContext#signal() signal} of the context is aborted. Long-running tasks should pass the signal to {@code fetch()} or listen to it to stop their work.
  *
  * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
  */
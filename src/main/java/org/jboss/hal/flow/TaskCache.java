@@ -0,0 +1,180 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.jboss.hal.flow.Timers.now;
+
+/**
+ * A bounded cache for the results of {@linkplain CachedTask cached tasks}.
+ * <p>
+ * Each entry expires after its time to live. Expired entries are not returned by {@link #get(String)}, but stay in the cache until they are replaced or evicted, so that a {@linkplain StaleWhileRevalidateTask stale-while-revalidate task} sharing the cache can still serve them. If the cache is full, the least recently used entry is evicted. The cache counts hits and misses, so that the effectiveness of the cache can be monitored.
+ *
+ * @param <T> the type of the cached results
+ */
+public class TaskCache<T> {
+
+    /**
+     * By default, the cache holds up to 100 entries.
+     */
+    public static final int DEFAULT_MAX_SIZE = 100;
+
+    /**
+     * By default, entries expire after 10 seconds.
+     */
+    public static final long DEFAULT_TTL = 10_000;
+
+    private final int maxSize;
+    private final long ttl;
+    private final Map<String, Entry<T>> entries;
+    final Map<String, Object> revalidating;
+    private int hits;
+    private int misses;
+
+    /**
+     * Creates a new cache with up to {@value #DEFAULT_MAX_SIZE} entries which expire after {@value #DEFAULT_TTL} milliseconds.
+     */
+    public TaskCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximal number of entries
+     * @param ttl     the default time to live of an entry in milliseconds
+     */
+    public TaskCache(final int maxSize, final long ttl) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<String, Entry<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry<T>> eldest) {
+                return size() > TaskCache.this.maxSize;
+            }
+        };
+        this.revalidating = new HashMap<>();
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    // ------------------------------------------------------ cache API
+
+    /**
+     * @return the cached value for the given key or {@code null} if there's no such key or the entry has expired.
+     */
+    public T get(final String key) {
+        Entry<T> entry = entries.get(key);
+        if (entry != null && !entry.expired()) {
+            hits++;
+            return entry.value;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Returns the entry for the given key even if it has expired. Fresh entries count as hit, expired or missing entries as miss.
+     */
+    Entry<T> lookup(final String key) {
+        Entry<T> entry = entries.get(key);
+        if (entry != null && !entry.expired()) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the value under the given key using the default time to live.
+     */
+    public void put(final String key, final T value) {
+        put(key, value, ttl);
+    }
+
+    /**
+     * Stores the value under the given key using the given time to live in milliseconds.
+     */
+    public void put(final String key, final T value, final long ttl) {
+        entries.put(key, new Entry<>(value, now() + ttl));
+    }
+
+    /**
+     * Removes the entry for the given key. The result of a background refresh which is still running for the key is dropped.
+     */
+    public void invalidate(final String key) {
+        entries.remove(key);
+        revalidating.remove(key);
+    }
+
+    /**
+     * Removes all entries. The results of background refreshes which are still running are dropped.
+     */
+    public void invalidateAll() {
+        entries.clear();
+        revalidating.clear();
+    }
+
+    // ------------------------------------------------------ info
+
+    /**
+     * @return the number of entries including expired entries which have not yet been removed
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of lookups which returned a cached value
+     */
+    public int hits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups which didn't return a cached value
+     */
+    public int misses() {
+        return misses;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskCache {size: " + entries.size() + ", maxSize: " + maxSize + ", hits: " + hits +
+                ", misses: " + misses + '}';
+    }
+
+    // ------------------------------------------------------ inner classes
+
+    static class Entry<T> {
+
+        final T value;
+        final long expires;
+
+        Entry(final T value, final long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+
+        boolean expired() {
+            return now() > expires;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.jboss.hal.flow;
+
+/**
+ * A callback for the outcome of a single {@linkplain Task task}.
+ * <p>
+ * The callback is called as soon as a task has finished, so that results can be processed before the execution of all tasks has been completed.
+ */
+@FunctionalInterface
+public interface TaskCallback {
+
+    /**
+     * Called when a {@linkplain Task task} has finished.
+     *
+     * @param result the outcome of the task
+     */
+    void finish(TaskResult result);
+}
@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * Adapts a pull-based supplier of {@linkplain Task tasks} to an iterator. The supplier signals the end of the tasks by returning {@code null}.
+ */
+class TaskIterator<C extends FlowContext> implements Iterator<Task<C>> {
+
+    private final Supplier<Task<C>> supplier;
+    private Task<C> next;
+    private boolean done;
+
+    TaskIterator(final Supplier<Task<C>> supplier) {
+        this.supplier = supplier;
+        this.next = null;
+        this.done = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = supplier.get();
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Task<C> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Task<C> task = next;
+        next = null;
+        return task;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+/**
+ * The outcome of a single {@linkplain Task task} reported to a {@linkplain TaskCallback task callback} as soon as the task has finished.
+ * <p>
+ * Tasks resolve with the {@linkplain FlowContext context} shared by all tasks of a flow, so the value of a successful task is that context. Since tasks running in parallel push onto the same stack, read the result of a particular task using a key it has {@linkplain FlowContext#set(String, Object) stored} its result under.
+ */
+public class TaskResult {
+
+    private final int index;
+    private final boolean successful;
+    private final Object value;
+    private final Object error;
+    private final long elapsed;
+
+    TaskResult(final int index, final boolean successful, final Object value, final Object error,
+            final long elapsed) {
+        this.index = index;
+        this.successful = successful;
+        this.value = value;
+        this.error = error;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return the index of the task in the list of tasks
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * @return whether the task was successful
+     */
+    public boolean successful() {
+        return successful;
+    }
+
+    /**
+     * @return the value the task resolved with or {@code null} if the task failed
+     */
+    public Object value() {
+        return value;
+    }
+
+    /**
+     * @return the error or {@code null} if the task was successful
+     */
+    public Object error() {
+        return error;
+    }
+
+    /**
+     * @return the execution time of the task in milliseconds
+     */
+    public long elapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append("TaskResult {");
+        builder.append("index: ").append(index)
+                .append(", successful: ").append(successful)
+                .append(", elapsed: ").append(elapsed);
+        if (!successful) {
+            builder.append(", error: ").append(error);
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -6,6 +6,7 @@ import java.util.function.Predicate;
 
 import org.jboss.elemento.Id;
 
+import elemental2.dom.RequestInit;
 import elemental2.dom.Response;
 import elemental2.promise.Promise;
 import jsinterop.annotations.JsOverlay;
@@ -13,6 +14,7 @@ import jsinterop.annotations.JsPackage;
 import jsinterop.annotations.JsType;
 import jsinterop.base.Js;
 
+import static elemental2.dom.DomGlobal.clearTimeout;
 import static elemental2.dom.DomGlobal.fetch;
 import static elemental2.dom.DomGlobal.setTimeout;
 import static java.util.Arrays.asList;
@@ -59,6 +61,8 @@ class Tasks {
                 .while_(wrongTime())
                 .failFast(failFast)
                 .interval(INTERVAL)
+                .schedule(Schedule.FIXED_DELAY)
+                .priority(Priority.BACKGROUND)
                 .timeout(REPEAT_TIMEOUT)
                 .subscribe(context -> logger.finish(context.status()));
     }
@@ -109,7 +113,7 @@ class Tasks {
                 (resolve, reject) -> {
                     String uniqueId = Id.unique();
                     logger.logStart(uniqueId, "Wait " + milliseconds + " ms...");
-                    setTimeout(__ -> {
+                    double handle = setTimeout(__ -> {
                         if (blowUp()) {
                             logger.logFailure(uniqueId, "Failed");
                             reject.onInvoke("Random failure");
@@ -118,6 +122,7 @@ class Tasks {
                             resolve.onInvoke(context);
                         }
                     }, milliseconds);
+                    context.signal().addEventListener("abort", __ -> clearTimeout(handle));
                 });
     }
 
@@ -125,7 +130,7 @@ class Tasks {
         return context -> {
             String uniqueId = Id.unique();
             logger.logStart(uniqueId, "Fetch time...");
-            return fetchTime().then(time -> {
+            return fetchTime(context).then(time -> {
                 context.push(time);
                 if (blowUp()) {
                     logger.logFailure(uniqueId, "Failed");
@@ -142,8 +147,10 @@ class Tasks {
         return randomFailure && Math.random() < FAILURE_PERCENTAGE;
     }
 
-    private Promise<String> fetchTime() {
-        return fetch("http://worldtimeapi.org/api/timezone/Europe/Berlin")
+    private Promise<String> fetchTime(FlowContext context) {
+        RequestInit init = RequestInit.create();
+        init.setSignal(context.signal());
+        return fetch("http://worldtimeapi.org/api/timezone/Europe/Berlin", init)
                 .then(Response::json)
                 .then(json -> Promise.resolve(Js.<Now>cast(json).time()));
     }
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.PriorityQueue;
+
+import static org.jboss.hal.flow.Timers.clearTimeout;
+import static org.jboss.hal.flow.Timers.now;
+import static org.jboss.hal.flow.Timers.setTimeout;
+
+/**
+ * Keeps the timeouts of all {@linkplain TimeoutTask tasks} in a queue ordered by their deadline and uses a single timer for the earliest deadline. This way thousands of running tasks don't need thousands of timers.
+ */
+class TimeoutQueue {
+
+    private static final PriorityQueue<Entry> queue = new PriorityQueue<>(
+            (e1, e2) -> Long.compare(e1.deadline, e2.deadline));
+    private static double timerHandle = 0;
+    private static long timerDeadline = 0;
+    private static int cancelled = 0;
+
+    /**
+     * Calls the callback after the given timeout unless the returned entry is cancelled before.
+     */
+    static Entry schedule(final long timeout, final Runnable callback) {
+        Entry entry = new Entry(now() + timeout, callback);
+        queue.add(entry);
+        arm();
+        return entry;
+    }
+
+    private static void arm() {
+        Entry head = queue.peek();
+        if (head == null) {
+            if (timerDeadline != 0) {
+                clearTimeout(timerHandle);
+                timerDeadline = 0;
+            }
+        } else if (timerDeadline == 0 || head.deadline < timerDeadline) {
+            if (timerDeadline != 0) {
+                clearTimeout(timerHandle);
+            }
+            timerDeadline = head.deadline;
+            timerHandle = setTimeout(() -> expire(), Math.max(0, head.deadline - now()));
+        }
+    }
+
+    private static void expire() {
+        timerDeadline = 0;
+        long now = now();
+        while (!queue.isEmpty() && queue.peek().deadline <= now) {
+            Entry entry = queue.poll();
+            if (entry.cancelled) {
+                cancelled--;
+            } else {
+                entry.cancelled = true;
+                entry.callback.run();
+            }
+        }
+        arm();
+    }
+
+    private static void cancel(final Entry entry) {
+        if (!entry.cancelled) {
+            entry.cancelled = true;
+            cancelled++;
+            // cancelled entries are removed lazily, unless they make up the larger part of the queue
+            if (cancelled > 64 && cancelled > queue.size() / 2) {
+                queue.removeIf(e -> e.cancelled);
+                cancelled = 0;
+                arm();
+            }
+        }
+    }
+
+    static class Entry {
+
+        private final long deadline;
+        private final Runnable callback;
+        private boolean cancelled;
+
+        private Entry(final long deadline, final Runnable callback) {
+            this.deadline = deadline;
+            this.callback = callback;
+            this.cancelled = false;
+        }
+
+        void cancel() {
+            TimeoutQueue.cancel(this);
+        }
+    }
+}
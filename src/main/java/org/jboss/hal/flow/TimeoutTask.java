@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.List;
+
+import elemental2.promise.Promise;
+
+/**
+ * A task implementation that fails a {@linkplain Task task} if it has not finished within its own timeout. The error can be checked using {@link FlowContext#taskTimeout(Object)} and is different from the timeout error of the whole flow.
+ * <p>
+ * When the timeout is reached, the {@linkplain FlowContext#signal() signal} of the task is aborted, but not the signal of the other tasks. The timeouts of all running tasks share a single timer, so wrapping thousands of tasks doesn't register thousands of timers.
+ * <p>
+ * This implementation makes it easy to deal with a single hung task inside a call to {@link Flow#parallel(FlowContext, List)} or {@link Flow#sequential(FlowContext, List)}: If the flow fails last, the remaining tasks are executed as usual. Use {@link Sequence#taskTimeout(long)} to apply the same timeout to all tasks of a flow.
+ *
+ * @param <C> the type of the {@linkplain FlowContext context} shared between tasks
+ */
+public class TimeoutTask<C extends FlowContext> implements Task<C> {
+
+    private final Task<C> task;
+    private final long timeout;
+
+    /**
+     * Creates a new task that fails the given {@linkplain Task task} if it has not finished within the given timeout.
+     *
+     * @param task    the task to execute
+     * @param timeout the timeout in milliseconds
+     */
+    public TimeoutTask(final Task<C> task, final long timeout) {
+        this.task = task;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Promise<C> apply(final C context) {
+        Cancellation cancellation = context.fork();
+        return new Promise<C>((resolve, reject) -> {
+            TimeoutQueue.Entry entry = TimeoutQueue.schedule(timeout, () -> {
+                cancellation.cancel(FlowRunner.TASK_TIMEOUT_ERROR);
+                cancellation.detach();
+                reject.onInvoke(FlowRunner.TASK_TIMEOUT_ERROR);
+            });
+            context.scoped(cancellation, () -> task.apply(context))
+                    .then(c -> {
+                        entry.cancel();
+                        cancellation.detach();
+                        resolve.onInvoke(c);
+                        return null;
+                    })
+                    .catch_(error -> {
+                        entry.cancel();
+                        cancellation.detach();
+                        reject.onInvoke(error);
+                        return null;
+                    });
+        });
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2022 Red Hat
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+/**
+ * Static shortcuts to the clock and the timers of the current {@linkplain FlowRuntime runtime}.
+ */
+final class Timers {
+
+    static FlowRuntime runtime = FlowRuntime.BROWSER;
+
+    static long now() {
+        return runtime.now();
+    }
+
+    static double setTimeout(final Runnable callback, final long delay) {
+        return runtime.setTimeout(callback, delay);
+    }
+
+    static void clearTimeout(final double handle) {
+        runtime.clearTimeout(handle);
+    }
+
+    static double setInterval(final Runnable callback, final long interval) {
+        return runtime.setInterval(callback, interval);
+    }
+
+    static void clearInterval(final double handle) {
+        runtime.clearInterval(handle);
+    }
+
+    private Timers() {
+    }
+}